@@ -0,0 +1,28 @@
+package com.toolbelt.benchmarks;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.toolbelt.utils.BrowserPool;
+import com.toolbelt.utils.ContextPool;
+
+public class BenchmarkPages {
+    // Every benchmark fork serves the recorded site snapshot locally, see SiteSnapshot; record it
+    // first with `mvn test -Dsite.mode=record` in the parent directory
+    public static final String SNAPSHOT_ARGS = "-Dsite.mode=serve";
+    public static final String SNAPSHOT_DIR_ARGS = "-Dsite.snapshotDir=../src/test/resources/snapshots";
+    public static final String NO_TIMING_ARGS = "-Dtiming=false";
+
+    public static Page open(String browserName, String route) {
+        Browser browser = BrowserPool.get(browserName);
+        BrowserContext context = ContextPool.acquire(browser);
+        Page page = context.pages().get(0);
+        page.navigate(route);
+        return page;
+    }
+
+    public static void close(Page page) {
+        ContextPool.release(page.context());
+        BrowserPool.closeAll();
+    }
+}
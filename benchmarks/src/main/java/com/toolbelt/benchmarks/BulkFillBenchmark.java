@@ -0,0 +1,68 @@
+package com.toolbelt.benchmarks;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.toolbelt.pages.BulkInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Locator.fill against chunked injection across payload sizes; the smallest size where inject
+// wins is the value to use for -Dfill.bulkThreshold
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {BenchmarkPages.SNAPSHOT_ARGS, BenchmarkPages.SNAPSHOT_DIR_ARGS, BenchmarkPages.NO_TIMING_ARGS, "-Xmx2g"})
+public class BulkFillBenchmark {
+    private static final String LINE = "{\"id\": 12345, \"name\": \"toolbelt\", \"tags\": [\"json\", \"bulk\", \"input\"]},\n";
+
+    @Param({"chromium", "firefox", "webkit"})
+    public String browserName;
+
+    @Param({"16384", "65536", "262144", "1048576", "10485760", "104857600"})
+    public int size;
+
+    private Page page;
+    private Locator input;
+    private String payload;
+
+    @Setup(Level.Trial)
+    public void openPage() {
+        page = BenchmarkPages.open(browserName, "/json-formatter");
+        input = page.locator("textarea[placeholder*='Paste your JSON']");
+        StringBuilder builder = new StringBuilder(size + LINE.length());
+        while (builder.length() < size) {
+            builder.append(LINE);
+        }
+        payload = builder.substring(0, size);
+    }
+
+    @TearDown(Level.Trial)
+    public void closePage() {
+        BenchmarkPages.close(page);
+    }
+
+    @Benchmark
+    public void fill() {
+        input.fill(payload);
+    }
+
+    @Benchmark
+    public void inject() {
+        BulkInput.inject(input, payload);
+    }
+}
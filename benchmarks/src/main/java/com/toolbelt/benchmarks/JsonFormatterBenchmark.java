@@ -0,0 +1,58 @@
+package com.toolbelt.benchmarks;
+
+import com.microsoft.playwright.Page;
+import com.toolbelt.pages.JsonFormatterPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {BenchmarkPages.SNAPSHOT_ARGS, BenchmarkPages.SNAPSHOT_DIR_ARGS, BenchmarkPages.NO_TIMING_ARGS})
+public class JsonFormatterBenchmark {
+    private static final String SAMPLE_JSON = "{\"name\":\"toolbelt\",\"tools\":[\"json\",\"regex\",\"hash\"],\"nested\":{\"depth\":2,\"ok\":true}}";
+
+    @Param({"chromium", "firefox", "webkit"})
+    public String browserName;
+
+    private Page page;
+    private JsonFormatterPage jsonPage;
+    private long run;
+    private String output = "";
+
+    @Setup(Level.Trial)
+    public void openPage() {
+        page = BenchmarkPages.open(browserName, "/json-formatter");
+        jsonPage = new JsonFormatterPage(page);
+    }
+
+    @TearDown(Level.Trial)
+    public void closePage() {
+        BenchmarkPages.close(page);
+    }
+
+    // Every invocation formats a different document, so waiting for the output to change waits for this
+    // format rather than reading what the previous invocation left there
+    @Benchmark
+    public String fillFormatAndReadOutput() {
+        jsonPage.fillInput("{\"run\":" + run++ + "," + SAMPLE_JSON.substring(1));
+        jsonPage.clickFormat();
+        output = jsonPage.waitForOutputChange(output);
+        return output;
+    }
+}
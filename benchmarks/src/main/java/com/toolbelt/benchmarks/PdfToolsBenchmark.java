@@ -0,0 +1,61 @@
+package com.toolbelt.benchmarks;
+
+import com.microsoft.playwright.Page;
+import com.toolbelt.pages.PdfToolsPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {BenchmarkPages.SNAPSHOT_ARGS, BenchmarkPages.SNAPSHOT_DIR_ARGS, BenchmarkPages.NO_TIMING_ARGS})
+public class PdfToolsBenchmark {
+    @Param({"chromium", "firefox", "webkit"})
+    public String browserName;
+
+    private Page page;
+    private PdfToolsPage pdfPage;
+
+    @Setup(Level.Trial)
+    public void openPage() {
+        page = BenchmarkPages.open(browserName, "/pdf-tools");
+        pdfPage = new PdfToolsPage(page);
+    }
+
+    @TearDown(Level.Trial)
+    public void closePage() {
+        BenchmarkPages.close(page);
+    }
+
+    @Benchmark
+    public boolean toolButtonsOneByOne() {
+        return pdfPage.isMergePdfsButtonVisible()
+            && pdfPage.isSplitPdfButtonVisible()
+            && pdfPage.isPdfToWordButtonVisible()
+            && pdfPage.isWordToPdfButtonVisible()
+            && pdfPage.isPdfToImagesButtonVisible()
+            && pdfPage.isImagesToPdfButtonVisible()
+            && pdfPage.isSignPdfButtonVisible()
+            && pdfPage.isRotatePdfButtonVisible();
+    }
+
+    @Benchmark
+    public boolean toolButtonsSnapshot() {
+        return pdfPage.areAllToolButtonsVisible();
+    }
+}
@@ -0,0 +1,59 @@
+package com.toolbelt.benchmarks;
+
+import com.microsoft.playwright.Page;
+import com.toolbelt.pages.RegexTesterPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {BenchmarkPages.SNAPSHOT_ARGS, BenchmarkPages.SNAPSHOT_DIR_ARGS, BenchmarkPages.NO_TIMING_ARGS})
+public class RegexTesterBenchmark {
+    private static final String PATTERN = "\\d{3}-\\d{4}";
+
+    @Param({"chromium", "firefox", "webkit"})
+    public String browserName;
+
+    private Page page;
+    private RegexTesterPage regexPage;
+
+    @Setup(Level.Trial)
+    public void openPage() {
+        page = BenchmarkPages.open(browserName, "/regex");
+        regexPage = new RegexTesterPage(page);
+        regexPage.fillTestString("Call 555-1234 or 555-9876");
+    }
+
+    // Each keystroke run needs an empty pattern input; typing costs milliseconds so the
+    // per-invocation fixture overhead is negligible
+    @Setup(Level.Invocation)
+    public void clearPattern() {
+        regexPage.fillPattern("");
+    }
+
+    @TearDown(Level.Trial)
+    public void closePage() {
+        BenchmarkPages.close(page);
+    }
+
+    @Benchmark
+    public void typePattern() {
+        regexPage.typePattern(PATTERN);
+    }
+}
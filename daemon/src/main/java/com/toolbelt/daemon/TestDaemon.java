@@ -0,0 +1,312 @@
+package com.toolbelt.daemon;
+
+import com.google.gson.Gson;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.toolbelt.instrumentation.ActionTimings;
+import com.toolbelt.instrumentation.PageMetrics;
+import com.toolbelt.utils.BrowserPool;
+import com.toolbelt.utils.ContextPool;
+import com.toolbelt.utils.HeapSoak;
+import com.toolbelt.utils.PerformanceBudgets;
+import com.toolbelt.utils.ReadOnlyExtension;
+import com.toolbelt.utils.ResourceBlocking;
+import com.toolbelt.utils.ScalingCurve;
+import com.toolbelt.utils.ShardExtension;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.MalformedURLException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectMethod;
+
+/**
+ * Long-lived test runner that keeps the JVM, the Playwright driver, a browser for each of
+ * -Ddaemon.browsers and their pooled contexts alive between runs. {@link TestDaemonClient}
+ * sends it test selectors and prints the results it streams back.
+ *
+ * <p>Playwright objects belong to the thread that created them, so warm-up and every run happen
+ * on a single runner thread and runs are executed one after another, without JUnit parallelism.
+ * Test classes are loaded afresh from target/test-classes for every run, so recompiling them is
+ * enough. Page objects and test utilities stay with the daemon's own class loader, because the
+ * utilities hand page objects around and pool state must survive between runs; changes to them
+ * need a restart. What the reports collect is cleared before each run.
+ */
+public class TestDaemon {
+    public static final int PORT = Integer.getInteger("daemon.port", 7357);
+    private static final String BROWSERS = System.getProperty("daemon.browsers", "chromium,firefox,webkit");
+    private static final Path PROJECT_DIR = Paths.get(System.getProperty("daemon.projectDir", "."));
+    private static final String DEFAULT_PACKAGE = "com.toolbelt.tests.";
+    // Only the tests: utilities such as DomSnapshots and SharedPages cast page objects to BasePage,
+    // which must then come from the same loader as the utilities
+    private static final List<String> RELOADED_PACKAGES = List.of(DEFAULT_PACKAGE);
+
+    // One line of JSON from the client
+    static class Request {
+        String command = "run";
+        String browser;
+        List<String> selectors = new ArrayList<>();
+    }
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(task -> new Thread(task, "test-daemon-runner"));
+    private volatile boolean running = true;
+
+    public static void main(String[] args) throws Exception {
+        new TestDaemon().serve();
+    }
+
+    private void serve() throws Exception {
+        BrowserPool.retain(true);
+        runner.submit(this::warmUp).get();
+
+        try (ServerSocket server = new ServerSocket(PORT, 50, InetAddress.getLoopbackAddress())) {
+            System.out.println("Test daemon listening on 127.0.0.1:" + PORT);
+            while (running) {
+                Socket socket = server.accept();
+                runner.submit(() -> handle(socket));
+            }
+        } finally {
+            runner.submit(() -> {
+                BrowserPool.retain(false);
+                BrowserPool.closeAll();
+            }).get();
+            runner.shutdown();
+        }
+    }
+
+    // Launches every browser, fills its context pool and pays for the first navigation up front
+    private void warmUp() {
+        for (String browserName : BROWSERS.split(",")) {
+            long start = System.nanoTime();
+            Browser browser = BrowserPool.get(browserName.trim());
+            BrowserContext context = ContextPool.acquire(browser);
+            context.pages().get(0).navigate("/");
+            ContextPool.release(context);
+            ContextPool.prepare(browser);
+            System.out.printf("Warmed up %s in %d ms%n", browserName.trim(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            Request request = new Gson().fromJson(in.readLine(), Request.class);
+            if (request == null) {
+                return;
+            }
+            if ("stop".equals(request.command)) {
+                running = false;
+                out.println("STOPPING");
+                // Unblock accept() so the serve loop sees the flag
+                new Socket(InetAddress.getLoopbackAddress(), PORT).close();
+                return;
+            }
+            run(request, out);
+        } catch (IOException e) {
+            System.err.println("Client disconnected: " + e.getMessage());
+        }
+    }
+
+    private void run(Request request, PrintWriter out) {
+        long start = System.nanoTime();
+        resetReports();
+        String previousBrowser = System.getProperty("browser");
+        if (request.browser != null) {
+            System.setProperty("browser", request.browser);
+        }
+        Thread thread = Thread.currentThread();
+        ClassLoader previousLoader = thread.getContextClassLoader();
+        try (URLClassLoader loader = new ReloadingClassLoader(PROJECT_DIR, getClass().getClassLoader())) {
+            thread.setContextClassLoader(loader);
+            LauncherDiscoveryRequest discovery = LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectors(request.selectors, loader))
+                .configurationParameter("junit.jupiter.execution.parallel.enabled", "false")
+                .build();
+            Results results = new Results(out);
+            Launcher launcher = LauncherFactory.create();
+            launcher.execute(discovery, results);
+            out.printf("DONE passed=%d failed=%d skipped=%d in %d ms%n",
+                results.passed, results.failed, results.skipped, (System.nanoTime() - start) / 1_000_000);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalArgumentException e) {
+            out.println("ERROR " + e);
+        } catch (IOException e) {
+            out.println("ERROR closing test class loader: " + e);
+        } finally {
+            thread.setContextClassLoader(previousLoader);
+            if (previousBrowser == null) {
+                System.clearProperty("browser");
+            } else {
+                System.setProperty("browser", previousBrowser);
+            }
+        }
+    }
+
+    // Every run writes its reports and checks the budgets on its own measurements only
+    private static void resetReports() {
+        ActionTimings.reset();
+        PageMetrics.reset();
+        ScalingCurve.reset();
+        HeapSoak.reset();
+        PerformanceBudgets.reset();
+        ResourceBlocking.reset();
+        ShardExtension.reset();
+        ReadOnlyExtension.reset();
+    }
+
+    // "RegexTesterTest", "RegexTesterTest#shouldLoad" or "RegexTesterTest$Performance#method"; the package defaults to the tests
+    private static List<DiscoverySelector> selectors(List<String> specs, ClassLoader loader)
+            throws ClassNotFoundException, NoSuchMethodException {
+        List<DiscoverySelector> selectors = new ArrayList<>();
+        for (String spec : specs) {
+            String[] parts = spec.split("#", 2);
+            String className = parts[0].contains(".") ? parts[0] : DEFAULT_PACKAGE + parts[0];
+            Class<?> testClass = Class.forName(className, false, loader);
+            if (parts.length == 1) {
+                selectors.add(selectClass(testClass));
+            } else {
+                selectors.add(selectMethod(testClass, findMethod(testClass, parts[1])));
+            }
+        }
+        if (selectors.isEmpty()) {
+            throw new IllegalArgumentException("No test selectors given");
+        }
+        return selectors;
+    }
+
+    private static Method findMethod(Class<?> testClass, String name) throws NoSuchMethodException {
+        for (Method method : testClass.getDeclaredMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        throw new NoSuchMethodException(testClass.getName() + "#" + name);
+    }
+
+    // Streams one line per finished or skipped test
+    private static class Results implements TestExecutionListener {
+        private final PrintWriter out;
+        private final Map<String, Long> started = new ConcurrentHashMap<>();
+        private int passed;
+        private int failed;
+        private int skipped;
+
+        Results(PrintWriter out) {
+            this.out = out;
+        }
+
+        @Override
+        public void executionStarted(TestIdentifier test) {
+            started.put(test.getUniqueId(), System.nanoTime());
+        }
+
+        @Override
+        public void executionSkipped(TestIdentifier test, String reason) {
+            if (test.isTest()) {
+                skipped++;
+                out.println("SKIP " + name(test) + " (" + reason + ")");
+            }
+        }
+
+        @Override
+        public void executionFinished(TestIdentifier test, TestExecutionResult result) {
+            long millis = (System.nanoTime() - started.getOrDefault(test.getUniqueId(), System.nanoTime())) / 1_000_000;
+            Throwable error = result.getThrowable().orElse(null);
+            switch (result.getStatus()) {
+                case SUCCESSFUL:
+                    if (test.isTest()) {
+                        passed++;
+                        out.println("PASS " + name(test) + " (" + millis + " ms)");
+                    }
+                    break;
+                case ABORTED:
+                    if (test.isTest()) {
+                        skipped++;
+                        out.println("SKIP " + name(test) + " (" + (error == null ? "aborted" : error.getMessage()) + ")");
+                    }
+                    break;
+                default:
+                    // Containers only report here when a fixture such as @BeforeAll failed
+                    failed++;
+                    out.println("FAIL " + name(test) + " (" + millis + " ms)");
+                    if (error != null) {
+                        error.toString().lines().forEach(line -> out.println("  " + line));
+                        for (StackTraceElement frame : error.getStackTrace()) {
+                            if (frame.getClassName().startsWith(DEFAULT_PACKAGE)) {
+                                out.println("    at " + frame);
+                            }
+                        }
+                    }
+            }
+        }
+
+        private static String name(TestIdentifier test) {
+            return test.getSource()
+                .filter(MethodSource.class::isInstance)
+                .map(source -> {
+                    MethodSource method = (MethodSource) source;
+                    return method.getClassName().replace(DEFAULT_PACKAGE, "") + "#" + method.getMethodName()
+                        + (test.getDisplayName().startsWith(method.getMethodName()) ? "" : " " + test.getDisplayName());
+                })
+                .orElse(test.getDisplayName());
+        }
+    }
+
+    // Child-first for test classes, so every run sees the latest compiled versions
+    private static class ReloadingClassLoader extends URLClassLoader {
+        ReloadingClassLoader(Path projectDir, ClassLoader parent) throws MalformedURLException {
+            super(new URL[]{
+                projectDir.resolve("target/test-classes").toUri().toURL(),
+                projectDir.resolve("target/classes").toUri().toURL()
+            }, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (RELOADED_PACKAGES.stream().noneMatch(name::startsWith)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    try {
+                        loaded = findClass(name);
+                    } catch (ClassNotFoundException e) {
+                        loaded = super.loadClass(name, false);
+                    }
+                }
+                if (resolve) {
+                    resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.toolbelt.daemon;
+
+import com.google.gson.Gson;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Sends test selectors to a running {@link TestDaemon} and prints the results as they arrive,
+ * exiting with 1 if anything failed. Usage, from the project directory after compiling the tests:
+ * <pre>
+ * java -cp daemon/target/test-daemon.jar com.toolbelt.daemon.TestDaemonClient [--browser=firefox] RegexTesterTest#shouldLoadTheRegexTesterPageCorrectly
+ * java -cp daemon/target/test-daemon.jar com.toolbelt.daemon.TestDaemonClient --stop
+ * </pre>
+ */
+public class TestDaemonClient {
+    public static void main(String[] args) throws IOException {
+        TestDaemon.Request request = new TestDaemon.Request();
+        for (String arg : args) {
+            if (arg.equals("--stop")) {
+                request.command = "stop";
+            } else if (arg.startsWith("--browser=")) {
+                request.browser = arg.substring("--browser=".length());
+            } else {
+                request.selectors.addAll(Arrays.asList(arg.split(",")));
+            }
+        }
+
+        boolean failed = false;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), TestDaemon.PORT);
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            out.println(new Gson().toJson(request));
+            String line;
+            while ((line = in.readLine()) != null) {
+                System.out.println(line);
+                failed |= line.startsWith("FAIL") || line.startsWith("ERROR");
+            }
+        } catch (ConnectException e) {
+            System.err.println("No test daemon on port " + TestDaemon.PORT + ", start one with `java -jar daemon/target/test-daemon.jar`");
+            System.exit(2);
+        }
+        System.exit(failed ? 1 : 0);
+    }
+}
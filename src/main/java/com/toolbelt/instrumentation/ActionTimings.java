@@ -0,0 +1,367 @@
+package com.toolbelt.instrumentation;
+
+import com.google.gson.GsonBuilder;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Times every driver call made through a page object's {@link Page} and the locators, keyboard
+ * and mouse obtained from it. Calls are attributed to the page-object method (or, for direct use,
+ * the test method) that made them, and kept per browser in {@link LatencyHistogram}s; disable with
+ * -Dtiming=false. When a flight recording is running, whatever -Dtiming says, each page-object
+ * method call is emitted as a JFR {@link PageActionEvent} spanning its driver calls, each of which
+ * is a {@link DriverCallEvent} (and a {@link NavigationEvent} if it navigates) nested inside it.
+ * Instrumented pages always have their mutations tracked underneath, see {@link MutationTracking}.
+ */
+public class ActionTimings {
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("timing", "true"));
+    private static final Set<String> LOCAL_METHODS = Set.of("url", "isClosed", "viewportSize", "context", "mainFrame", "frames", "page",
+        "toString", "hashCode", "equals");
+    private static final Set<String> NAVIGATION_METHODS = Set.of("navigate", "reload", "goBack", "goForward");
+    private static final String PAGES_PACKAGE = "com.toolbelt.pages.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private static final Map<List<String>, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private static final ThreadLocal<PageObjectCall> pageObjectCall = new ThreadLocal<>();
+
+    // Tracks the page's mutations (see MutationTracking) and, when timing is on or JFR events are being recorded,
+    // times it on top of that
+    public static Page instrument(Page page) {
+        if (isTimed(page)) {
+            return page;
+        }
+        Page tracked = MutationTracking.track(page);
+        if (!(ENABLED || eventsEnabled())) {
+            return tracked;
+        }
+        Browser browser = tracked.context().browser();
+        return (Page) wrap(tracked, Page.class, browser == null ? "unknown" : browser.browserType().name(), "");
+    }
+
+    // The Playwright object underneath both the timing and the mutation tracking proxies
+    @SuppressWarnings("unchecked")
+    public static <T> T unwrap(T object) {
+        if (isTimed(object)) {
+            object = (T) ((TimingHandler) Proxy.getInvocationHandler(object)).target;
+        }
+        return MutationTracking.unwrap(object);
+    }
+
+    // Times a driver call made on an unwrapped object, such as a web-first assertion, as if it went through the proxy
+    public static void time(Page page, String action, String selector, Runnable call) {
+        Page target = unwrap(page);
+        Browser browser = target.context().browser();
+        TimingHandler handler = new TimingHandler(target, browser == null ? "unknown" : browser.browserType().name(), selector);
+        try {
+            handler.time(action, () -> {
+                call.run();
+                return null;
+            });
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static void record(String browser, String owner, String action, String selector, long nanos) {
+        histograms.computeIfAbsent(List.of(browser, owner, action, selector), key -> new LatencyHistogram())
+            .recordMicros(nanos / 1_000);
+    }
+
+    // All driver calls made by one page-object method on one browser, merged; null if there were none
+    public static LatencyHistogram histogram(String browser, String owner) {
+        LatencyHistogram merged = null;
+        for (Map.Entry<List<String>, LatencyHistogram> entry : histograms.entrySet()) {
+            if (entry.getKey().get(0).equals(browser) && entry.getKey().get(1).equals(owner)) {
+                if (merged == null) {
+                    merged = new LatencyHistogram();
+                }
+                merged.add(entry.getValue());
+            }
+        }
+        return merged;
+    }
+
+    public static String currentOwner() {
+        Optional<StackWalker.StackFrame> pageObjectFrame = STACK_WALKER.walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith(PAGES_PACKAGE) && !frame.getClassName().equals(PAGES_PACKAGE + "BasePage")
+                && !frame.getClassName().equals(PAGES_PACKAGE + "FallbackLocator"))
+            .findFirst());
+        if (pageObjectFrame.isPresent()) {
+            return ownerName(pageObjectFrame.get());
+        }
+        return STACK_WALKER.walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith("com.toolbelt.") && !frame.getClassName().startsWith("com.toolbelt.instrumentation."))
+            .findFirst()
+            .map(ActionTimings::ownerName)
+            .orElse("unknown"));
+    }
+
+    // Commits the page-object method call still open on this thread, e.g. at the end of a test. A call is only known
+    // to be over once the next driver call comes from elsewhere, so its event ends with its last driver call
+    public static void endPageObjectCall() {
+        PageObjectCall call = pageObjectCall.get();
+        if (call != null) {
+            pageObjectCall.remove();
+            call.commit();
+        }
+    }
+
+    // Forgets what earlier runs recorded, for a runner that outlives one run (see TestDaemon)
+    public static void reset() {
+        histograms.clear();
+    }
+
+    public static void writeReport(Path dir) {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        histograms.forEach((key, histogram) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("browser", key.get(0));
+            row.put("method", key.get(1));
+            row.put("action", key.get(2));
+            row.put("selector", key.get(3));
+            row.put("count", histogram.getCount());
+            row.put("p50Ms", histogram.percentileMicros(50) / 1000.0);
+            row.put("p90Ms", histogram.percentileMicros(90) / 1000.0);
+            row.put("p99Ms", histogram.percentileMicros(99) / 1000.0);
+            row.put("maxMs", histogram.getMaxMicros() / 1000.0);
+            rows.add(row);
+        });
+        rows.sort((a, b) -> Double.compare((Double) b.get("p99Ms"), (Double) a.get("p99Ms")));
+
+        try {
+            Files.createDirectories(dir);
+            try (Writer writer = Files.newBufferedWriter(dir.resolve("action-latency.json"), StandardCharsets.UTF_8)) {
+                new GsonBuilder().setPrettyPrinting().create().toJson(rows, writer);
+            }
+            try (Writer writer = Files.newBufferedWriter(dir.resolve("action-latency.csv"), StandardCharsets.UTF_8)) {
+                writer.write("browser,method,action,selector,count,p50Ms,p90Ms,p99Ms,maxMs\n");
+                for (Map<String, Object> row : rows) {
+                    List<String> cells = new ArrayList<>();
+                    row.values().forEach(value -> cells.add(csv(String.valueOf(value))));
+                    writer.write(String.join(",", cells) + "\n");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write action latency report to " + dir, e);
+        }
+    }
+
+    private static Object wrap(Object target, Class<?> type, String browser, String selector) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new TimingHandler(target, browser, selector));
+    }
+
+    private static boolean isTimed(Object object) {
+        return object != null && Proxy.isProxyClass(object.getClass()) && Proxy.getInvocationHandler(object) instanceof TimingHandler;
+    }
+
+    private static boolean eventsEnabled() {
+        return new PageActionEvent().isEnabled() || new DriverCallEvent().isEnabled() || new NavigationEvent().isEnabled();
+    }
+
+    // The page-object method call a driver call belongs to: the outermost page-object frame on the stack together with
+    // the frame that called it, so repeated calls from one call site in a loop are seen as one. Null without a page object
+    private static List<Object> pageObjectCallSite() {
+        return STACK_WALKER.walk(frames -> {
+            List<StackWalker.StackFrame> stack = frames.collect(Collectors.toList());
+            for (int i = stack.size() - 2; i >= 0; i--) {
+                if (stack.get(i).getClassName().startsWith(PAGES_PACKAGE)) {
+                    StackWalker.StackFrame caller = stack.get(i + 1);
+                    return List.of(ownerName(stack.get(i)), caller.getClassName(), caller.getMethodName(),
+                        caller.getByteCodeIndex(), stack.size() - i);
+                }
+            }
+            return null;
+        });
+    }
+
+    // Opens the page-object method call the next driver call belongs to, committing the previous one if it is over
+    private static PageObjectCall enterPageObjectCall(String browser) {
+        if (!new PageActionEvent().isEnabled()) {
+            endPageObjectCall();
+            return null;
+        }
+        List<Object> callSite = pageObjectCallSite();
+        PageObjectCall current = pageObjectCall.get();
+        if (current != null && current.callSite.equals(callSite)) {
+            return current;
+        }
+        endPageObjectCall();
+        if (callSite == null) {
+            return null;
+        }
+        PageObjectCall call = new PageObjectCall(callSite, browser);
+        pageObjectCall.set(call);
+        return call;
+    }
+
+    private static String ownerName(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+    }
+
+    private static String csv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static class PageObjectCall {
+        private final List<Object> callSite;
+        private final PageActionEvent event = new PageActionEvent();
+        private final Set<String> selectors = new LinkedHashSet<>();
+
+        private PageObjectCall(List<Object> callSite, String browser) {
+            this.callSite = callSite;
+            String owner = (String) callSite.get(0);
+            int split = owner.lastIndexOf('.');
+            event.testId = CurrentTest.get();
+            event.browser = browser;
+            event.pageObject = owner.substring(0, split);
+            event.method = owner.substring(split + 1);
+            event.begin();
+        }
+
+        // Called after each of its driver calls; the last end() is the one the event keeps
+        private void driverCall(String selector) {
+            event.end();
+            event.driverCalls++;
+            if (!selector.isEmpty()) {
+                selectors.add(selector);
+            }
+        }
+
+        private void commit() {
+            if (event.shouldCommit()) {
+                event.selector = String.join(", ", selectors);
+                event.commit();
+            }
+        }
+    }
+
+    private static class TimingHandler implements InvocationHandler {
+        private final Object target;
+        private final String browser;
+        private final String selector;
+
+        private TimingHandler(Object target, String browser, String selector) {
+            this.target = target;
+            this.browser = browser;
+            this.selector = selector;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (args != null) {
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = unwrap(args[i]);
+                }
+            }
+
+            Class<?> returnType = method.getReturnType();
+            boolean wrapsResult = MutationTracking.isWrappedType(returnType);
+            boolean timed = !wrapsResult && !LOCAL_METHODS.contains(method.getName());
+            boolean navigation = NAVIGATION_METHODS.contains(method.getName());
+
+            NavigationEvent navigationEvent = new NavigationEvent();
+            navigationEvent.begin();
+            Object result;
+            try {
+                result = timed ? time(method.getName(), () -> invokeTarget(method, args)) : invokeTarget(method, args);
+            } finally {
+                if (navigation) {
+                    commit(navigationEvent, args);
+                }
+            }
+
+            if (wrapsResult && result != null) {
+                return wrap(result, returnType, browser, MutationTracking.resultSelector(returnType, result, selector));
+            }
+            return result;
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private <T> T time(String action, DriverCall<T> call) throws Throwable {
+            PageObjectCall pageObject = enterPageObjectCall(browser);
+            DriverCallEvent event = new DriverCallEvent();
+            event.begin();
+            long start = System.nanoTime();
+            try {
+                return call.run();
+            } finally {
+                long nanos = System.nanoTime() - start;
+                event.end();
+                if (ENABLED || event.shouldCommit()) {
+                    String owner = currentOwner();
+                    if (ENABLED) {
+                        record(browser, owner, action, selector, nanos);
+                    }
+                    commit(event, owner, action);
+                }
+                if (pageObject != null) {
+                    pageObject.driverCall(selector);
+                }
+            }
+        }
+
+        private void commit(DriverCallEvent event, String owner, String action) {
+            if (event.shouldCommit()) {
+                int split = owner.lastIndexOf('.');
+                event.testId = CurrentTest.get();
+                event.browser = browser;
+                event.pageObject = split < 0 ? owner : owner.substring(0, split);
+                event.method = owner.substring(split + 1);
+                event.action = action;
+                event.selector = selector;
+                event.commit();
+            }
+        }
+
+        private void commit(NavigationEvent event, Object[] args) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.testId = CurrentTest.get();
+                event.browser = browser;
+                event.url = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : ((Page) target).url();
+                event.commit();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface DriverCall<T> {
+        T run() throws Throwable;
+    }
+}
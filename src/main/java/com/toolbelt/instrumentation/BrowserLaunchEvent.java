@@ -0,0 +1,17 @@
+package com.toolbelt.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.toolbelt.BrowserLaunch")
+@Label("Browser Launch")
+@Category({"Toolbelt", "Playwright"})
+public class BrowserLaunchEvent extends Event {
+    @Label("Test Id")
+    public String testId;
+
+    @Label("Browser")
+    public String browser;
+}
@@ -0,0 +1,17 @@
+package com.toolbelt.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.toolbelt.ContextCreation")
+@Label("Context Creation")
+@Category({"Toolbelt", "Playwright"})
+public class ContextCreationEvent extends Event {
+    @Label("Test Id")
+    public String testId;
+
+    @Label("Browser")
+    public String browser;
+}
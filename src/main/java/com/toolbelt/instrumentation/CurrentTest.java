@@ -0,0 +1,21 @@
+package com.toolbelt.instrumentation;
+
+public class CurrentTest {
+    private static final ThreadLocal<String> testId = new ThreadLocal<>();
+
+    // A page-object method call still open on the thread belongs to whatever ran before
+    public static void set(String id) {
+        ActionTimings.endPageObjectCall();
+        testId.set(id);
+    }
+
+    public static String get() {
+        String id = testId.get();
+        return id == null ? "" : id;
+    }
+
+    public static void clear() {
+        ActionTimings.endPageObjectCall();
+        testId.remove();
+    }
+}
@@ -0,0 +1,39 @@
+package com.toolbelt.instrumentation;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histogram in microseconds, backed by an auto-resizing HdrHistogram kept to 3 significant
+ * digits.
+ */
+public class LatencyHistogram {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram histogram = new Histogram(SIGNIFICANT_DIGITS);
+
+    public synchronized void recordMicros(long micros) {
+        histogram.recordValue(Math.max(0, micros));
+    }
+
+    public synchronized void add(LatencyHistogram other) {
+        synchronized (other) {
+            histogram.add(other.histogram);
+        }
+    }
+
+    public synchronized long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    public synchronized long getMaxMicros() {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue();
+    }
+
+    public synchronized double getMeanMicros() {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getMean();
+    }
+
+    public synchronized long percentileMicros(double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile);
+    }
+}
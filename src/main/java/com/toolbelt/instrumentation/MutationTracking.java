@@ -0,0 +1,122 @@
+package com.toolbelt.instrumentation;
+
+import com.microsoft.playwright.Page;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Records the driver calls that may change what a page shows (clicks, fills, key presses,
+ * navigations, viewport changes and in-page scripts) made through a {@link Page} and the
+ * locators, keyboard and mouse obtained from it, per thread. Used to tell read-only tests from
+ * the rest, so unlike {@link ActionTimings} it is always on; the timing proxy wraps this one.
+ */
+public class MutationTracking {
+    private static final Set<String> WRAPPED_TYPES = Set.of("Page", "Locator", "FrameLocator", "Keyboard", "Mouse", "Touchscreen");
+    // In-page scripts count unless they run inside inspecting()
+    private static final Set<String> MUTATING_METHODS = Set.of("click", "dblclick", "tap", "fill", "clear", "type", "press",
+        "pressSequentially", "insertText", "down", "up", "move", "wheel", "hover", "focus", "blur", "check", "uncheck",
+        "setChecked", "selectOption", "selectText", "setInputFiles", "dragTo", "dragAndDrop", "dispatchEvent", "evaluate",
+        "evaluateAll", "evaluateHandle", "addScriptTag", "addStyleTag", "emulateMedia", "navigate", "reload", "goBack",
+        "goForward", "setViewportSize", "setContent");
+
+    private static final ThreadLocal<List<String>> mutations = ThreadLocal.withInitial(ArrayList::new);
+    private static final ThreadLocal<Integer> inspecting = ThreadLocal.withInitial(() -> 0);
+
+    public static Page track(Page page) {
+        if (Proxy.isProxyClass(page.getClass())) {
+            return page;
+        }
+        return (Page) wrap(page, Page.class, "");
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T unwrap(T object) {
+        if (object != null && Proxy.isProxyClass(object.getClass())
+            && Proxy.getInvocationHandler(object) instanceof MutationHandler) {
+            return (T) ((MutationHandler) Proxy.getInvocationHandler(object)).target;
+        }
+        return object;
+    }
+
+    // Mutating calls made through tracked objects on this thread since the last clearMutations()
+    public static List<String> mutations() {
+        return new ArrayList<>(mutations.get());
+    }
+
+    public static void clearMutations() {
+        mutations.get().clear();
+    }
+
+    // For page-object paths that change the page in ways the driver call alone does not show, e.g. bulk input
+    public static void recordMutation(String description) {
+        mutations.get().add(description);
+    }
+
+    // Runs driver calls that only read the page, such as settle checks and snapshots, without counting
+    // them as mutations
+    public static <T> T inspecting(Supplier<T> action) {
+        inspecting.set(inspecting.get() + 1);
+        try {
+            return action.get();
+        } finally {
+            inspecting.set(inspecting.get() - 1);
+        }
+    }
+
+    // Whether a driver call returning this type hands back an object whose calls are tracked (and timed) as well
+    static boolean isWrappedType(Class<?> type) {
+        return type.isInterface() && WRAPPED_TYPES.contains(type.getSimpleName())
+            && type.getPackageName().equals("com.microsoft.playwright");
+    }
+
+    // What a wrapped result's calls are described by: the selector of a locator, otherwise its parent's
+    static String resultSelector(Class<?> type, Object result, String selector) {
+        return type.getSimpleName().equals("Locator") ? result.toString().replaceFirst("^Locator@", "") : selector;
+    }
+
+    private static Object wrap(Object target, Class<?> type, String selector) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new MutationHandler(target, selector));
+    }
+
+    private static class MutationHandler implements InvocationHandler {
+        private final Object target;
+        private final String selector;
+
+        private MutationHandler(Object target, String selector) {
+            this.target = target;
+            this.selector = selector;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (args != null) {
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = unwrap(args[i]);
+                }
+            }
+            if (MUTATING_METHODS.contains(method.getName()) && inspecting.get() == 0) {
+                mutations.get().add(selector.isEmpty() ? method.getName() : method.getName() + " " + selector);
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            Class<?> returnType = method.getReturnType();
+            if (isWrappedType(returnType) && result != null) {
+                return wrap(result, returnType, resultSelector(returnType, result, selector));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.toolbelt.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.toolbelt.Navigation")
+@Label("Navigation")
+@Category({"Toolbelt", "Playwright"})
+public class NavigationEvent extends Event {
+    @Label("Test Id")
+    public String testId;
+
+    @Label("Browser")
+    public String browser;
+
+    @Label("URL")
+    public String url;
+}
@@ -0,0 +1,29 @@
+package com.toolbelt.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.toolbelt.PageAction")
+@Label("Page Action")
+@Category({"Toolbelt", "Playwright"})
+public class PageActionEvent extends Event {
+    @Label("Test Id")
+    public String testId;
+
+    @Label("Browser")
+    public String browser;
+
+    @Label("Page Object")
+    public String pageObject;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Selector")
+    public String selector;
+
+    @Label("Driver Calls")
+    public int driverCalls;
+}
@@ -0,0 +1,122 @@
+package com.toolbelt.instrumentation;
+
+import com.google.gson.GsonBuilder;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Client-side performance metrics for every route a test opens: Navigation Timing, first
+ * (contentful) paint, largest contentful paint, long tasks and JS heap size, for whatever the
+ * browser supports (unsupported metrics are null). An init script installs the
+ * PerformanceObservers on every document; BasePage.open() reads the metrics once the route has
+ * settled, before the test does anything on it, and they are written per browser to
+ * target/perf-metrics at the end of the run. Each record says whether the route was loaded
+ * (a hard navigation) or switched to client-side (a soft one); a soft one has no load or paint
+ * metrics of its own, so those are left null, and its long tasks are the ones since the switch.
+ * Disable with -Dmetrics=false.
+ */
+public class PageMetrics {
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("metrics", "true"));
+
+    public static final String OBSERVER_SCRIPT =
+        "(() => {" +
+        "  if (window.__toolbeltPerf || typeof PerformanceObserver === 'undefined') return;" +
+        "  const perf = window.__toolbeltPerf = { lcp: null, longTasks: [] };" +
+        "  const observe = (type, callback) => {" +
+        "    if (!(PerformanceObserver.supportedEntryTypes || []).includes(type)) return;" +
+        "    new PerformanceObserver(list => list.getEntries().forEach(callback)).observe({ type, buffered: true });" +
+        "  };" +
+        "  observe('largest-contentful-paint', entry => { perf.lcp = entry.renderTime || entry.startTime; });" +
+        "  observe('longtask', entry => { perf.longTasks.push(entry.duration); });" +
+        "})();";
+    private static final String COLLECT_SCRIPT =
+        "soft => {" +
+        "  const perf = window.__toolbeltPerf || { lcp: null, longTasks: null };" +
+        "  const nav = soft ? null : performance.getEntriesByType('navigation')[0];" +
+        "  const paint = name => { const entry = soft ? null : performance.getEntriesByName(name)[0]; return entry ? entry.startTime : null; };" +
+        "  const tasks = perf.longTasks;" +
+        "  const supportsLongTasks = (PerformanceObserver.supportedEntryTypes || []).includes('longtask');" +
+        "  return {" +
+        "    path: location.pathname," +
+        "    navigation: soft ? 'soft' : 'hard'," +
+        "    ttfbMs: nav ? nav.responseStart : null," +
+        "    domContentLoadedMs: nav ? nav.domContentLoadedEventEnd : null," +
+        "    loadMs: nav ? nav.loadEventEnd : null," +
+        "    transferBytes: nav ? nav.transferSize : null," +
+        "    firstPaintMs: paint('first-paint')," +
+        "    firstContentfulPaintMs: paint('first-contentful-paint')," +
+        "    largestContentfulPaintMs: perf.lcp," +
+        "    longTaskCount: tasks && supportsLongTasks ? tasks.length : null," +
+        "    longTaskTotalMs: tasks && supportsLongTasks ? tasks.reduce((sum, d) => sum + d, 0) : null," +
+        "    longTaskMaxMs: tasks && supportsLongTasks ? tasks.reduce((max, d) => Math.max(max, d), 0) : null," +
+        "    jsHeapUsedBytes: performance.memory ? performance.memory.usedJSHeapSize : null" +
+        "  };" +
+        "}";
+
+    private static final Queue<Map<String, Object>> records = new ConcurrentLinkedQueue<>();
+
+    // Reads the metrics of the route the page was just opened on; soft is true when it was switched to client-side
+    @SuppressWarnings("unchecked")
+    public static void collect(Page page, boolean soft) {
+        if (!ENABLED || page.isClosed() || !page.url().startsWith("http")) {
+            return;
+        }
+        try {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("test", CurrentTest.get());
+            Browser browser = page.context().browser();
+            record.put("browser", browser == null ? "unknown" : browser.browserType().name());
+            record.putAll((Map<String, Object>) MutationTracking.inspecting(() -> page.evaluate(COLLECT_SCRIPT, soft)));
+            records.add(record);
+        } catch (PlaywrightException e) {
+            // The page crashed or navigated away while being read; nothing to measure
+        }
+    }
+
+    public static List<Map<String, Object>> records() {
+        return new ArrayList<>(records);
+    }
+
+    // Forgets what earlier runs recorded, for a runner that outlives one run (see TestDaemon)
+    public static void reset() {
+        records.clear();
+    }
+
+    public static void writeReport(Path dir) {
+        if (records.isEmpty()) {
+            return;
+        }
+        Map<String, List<Map<String, Object>>> byBrowser = new LinkedHashMap<>();
+        for (Map<String, Object> record : records) {
+            byBrowser.computeIfAbsent((String) record.get("browser"), key -> new ArrayList<>()).add(record);
+        }
+        String shard = System.getProperty("shard.index");
+
+        try {
+            Files.createDirectories(dir);
+            for (Map.Entry<String, List<Map<String, Object>>> entry : byBrowser.entrySet()) {
+                entry.getValue().sort((a, b) -> String.valueOf(a.get("test")).compareTo(String.valueOf(b.get("test"))));
+                String name = "page-metrics-" + entry.getKey() + (shard == null ? "" : "-shard-" + shard) + ".json";
+                try (Writer writer = Files.newBufferedWriter(dir.resolve(name), StandardCharsets.UTF_8)) {
+                    new GsonBuilder().setPrettyPrinting().serializeNulls().create().toJson(entry.getValue(), writer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write page metrics to " + dir, e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.toolbelt.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("com.toolbelt.Wait")
+@Label("Wait")
+@Category({"Toolbelt", "Playwright"})
+public class WaitEvent extends Event {
+    @Label("Test Id")
+    public String testId;
+
+    @Label("Kind")
+    public String kind;
+
+    @Label("Quiet Window")
+    @Timespan(Timespan.MILLISECONDS)
+    public long quietMs;
+
+    @Label("Timeout")
+    @Timespan(Timespan.MILLISECONDS)
+    public long timeoutMs;
+
+    @Label("Settled")
+    public boolean settled;
+}
@@ -2,6 +2,8 @@ package com.toolbelt.pages;
 
 import com.microsoft.playwright.Page;
 
+import java.util.List;
+
 public class Base64EncoderPage extends BasePage {
     private final String INPUT_TEXTAREA = "textarea:nth-of-type(1)";
     private final String OUTPUT_TEXTAREA = "textarea:nth-of-type(2)";
@@ -23,7 +25,7 @@ public class Base64EncoderPage extends BasePage {
     }
 
     public void fillInput(String text) {
-        page.locator(INPUT_TEXTAREA).fill(text);
+        BulkInput.fill(page.locator(INPUT_TEXTAREA), text);
     }
 
     public void clickEncodeModeButton() {
@@ -58,6 +60,14 @@ public class Base64EncoderPage extends BasePage {
         return page.locator(OUTPUT_TEXTAREA).inputValue();
     }
 
+    public ContentDigest getOutputDigest() {
+        return ContentDigest.of(page.locator(OUTPUT_TEXTAREA));
+    }
+
+    public List<String> encodeAll(List<String> inputs) {
+        return batch(INPUT_TEXTAREA, ENCODE_ACTION_BUTTON, List.of(OUTPUT_TEXTAREA), inputs);
+    }
+
     public String getInput() {
         return page.locator(INPUT_TEXTAREA).inputValue();
     }
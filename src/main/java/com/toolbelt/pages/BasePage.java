@@ -1,12 +1,206 @@
 package com.toolbelt.pages;
 
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.assertions.LocatorAssertions;
+import com.toolbelt.instrumentation.ActionTimings;
+import com.toolbelt.instrumentation.CurrentTest;
+import com.toolbelt.instrumentation.MutationTracking;
+import com.toolbelt.instrumentation.PageMetrics;
+import com.toolbelt.instrumentation.WaitEvent;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
 
 public abstract class BasePage {
+    // Records the time of the last DOM mutation or input event; safe to install more than once
+    public static final String SETTLE_OBSERVER_SCRIPT =
+        "(() => {" +
+        "  if (window.__toolbeltSettle) return;" +
+        "  const state = window.__toolbeltSettle = { last: performance.now() };" +
+        "  const touch = () => { state.last = performance.now(); };" +
+        "  new MutationObserver(touch).observe(document, { subtree: true, childList: true, attributes: true, characterData: true });" +
+        "  window.addEventListener('input', touch, true);" +
+        "})();";
+    private static final String SETTLE_START_SCRIPT = "() => { " + SETTLE_OBSERVER_SCRIPT + " return performance.now(); }";
+    private static final String SETTLE_LAST_SCRIPT = "() => window.__toolbeltSettle.last";
+    // Stamps the first event of the given type the next action dispatches, on the page clock
+    private static final String EVENT_START_SCRIPT =
+        "type => { " + SETTLE_OBSERVER_SCRIPT +
+        "  window.__toolbeltEventAt = null;" +
+        "  window.addEventListener(type, () => { if (window.__toolbeltEventAt === null) window.__toolbeltEventAt = performance.now(); }, { capture: true, once: true });" +
+        "}";
+    private static final String EVENT_AT_SCRIPT = "() => window.__toolbeltEventAt";
+    private static final String SETTLED_PREDICATE =
+        "quietMs => { " + SETTLE_OBSERVER_SCRIPT + " return performance.now() - window.__toolbeltSettle.last >= quietMs; }";
+    // Marks what the current route rendered, so a route switch can tell it was replaced, and resets per-document metrics
+    private static final String ROUTE_LEAVE_SCRIPT =
+        "() => {" +
+        "  document.querySelectorAll('h1').forEach(el => el.setAttribute('data-toolbelt-stale', ''));" +
+        "  window.scrollTo(0, 0);" +
+        "  if (window.__toolbeltPerf) { window.__toolbeltPerf.lcp = null; window.__toolbeltPerf.longTasks = []; }" +
+        "}";
+    private static final String PUSH_STATE_SCRIPT =
+        "route => { history.pushState({}, '', route); window.dispatchEvent(new PopStateEvent('popstate', { state: {} })); }";
+    // The new route rendered in place of the old one, at the top of the page
+    private static final String ROUTE_RENDERED_PREDICATE =
+        "route => location.pathname === route" +
+        "  && !document.querySelector('[data-toolbelt-stale]')" +
+        "  && !!document.querySelector('h1')" +
+        "  && window.scrollY === 0";
+    // What the route shows: form control values, toggle and mode button states, and the visible text. Compared with
+    // the same fingerprint taken after a full load, since defaultValue says nothing for React-controlled inputs
+    private static final String ROUTE_STATE_SCRIPT =
+        "() => {" +
+        "  const controls = [...document.querySelectorAll('input, textarea, select')].map(el => [el.tagName, el.type || ''," +
+        "    el.type === 'checkbox' || el.type === 'radio' ? el.checked : el.tagName === 'SELECT' ? el.selectedIndex : el.value]);" +
+        "  const toggles = [...document.querySelectorAll('button, [role=tab], [aria-pressed], [aria-selected], [aria-checked], [aria-expanded]')]" +
+        "    .map(el => [el.getAttribute('aria-pressed'), el.getAttribute('aria-selected'), el.getAttribute('aria-checked')," +
+        "      el.getAttribute('aria-expanded'), el.className, el.disabled === true]);" +
+        "  return JSON.stringify([controls, toggles, (document.querySelector('main') || document.body).innerText]);" +
+        "}";
+    // Defines resolve(selector), which finds the elements matching a CSS, text= or :has-text() selector as used by the
+    // page objects; shared by the in-page scripts below
+    private static final String RESOLVE_FUNCTION =
+        "  const norm = s => (s || '').replace(/\\s+/g, ' ').trim();" +
+        "  const textMatcher = body => {" +
+        "    const regex = body.match(/^\\/(.*)\\/([a-z]*)$/s);" +
+        "    if (regex) { const re = new RegExp(regex[1], regex[2]); return t => re.test(t); }" +
+        "    const quoted = body.match(/^(['\"])(.*)\\1$/s);" +
+        "    if (quoted) return t => t === norm(quoted[2]);" +
+        "    const needle = norm(body).toLowerCase();" +
+        "    return t => t.toLowerCase().includes(needle);" +
+        "  };" +
+        "  const resolve = selector => {" +
+        "    if (selector.startsWith('text=')) {" +
+        "      const matches = textMatcher(selector.slice(5));" +
+        "      const found = [...document.body.querySelectorAll('*')]" +
+        "        .filter(el => !['SCRIPT', 'STYLE', 'NOSCRIPT', 'TEMPLATE'].includes(el.tagName) && matches(norm(el.textContent)));" +
+        "      return found.filter(el => !found.some(other => other !== el && el.contains(other)));" +
+        "    }" +
+        "    const texts = [];" +
+        "    let css = selector.replace(/:has-text\\((['\"])(.*?)\\1\\)/g, (m, q, t) => { texts.push(norm(t).toLowerCase()); return ''; });" +
+        "    if (css === '' || css.startsWith(':')) css = '*' + css;" +
+        "    return [...document.querySelectorAll(css)].filter(el => texts.every(t => norm(el.textContent).toLowerCase().includes(t)));" +
+        "  };";
+    // Visibility, match count and first text of each selector in one pass
+    private static final String SNAPSHOT_SCRIPT =
+        "selectors => {" + RESOLVE_FUNCTION +
+        "  const isVisible = el => { const r = el.getBoundingClientRect(); return r.width > 0 && r.height > 0 && getComputedStyle(el).visibility !== 'hidden'; };" +
+        "  return selectors.map(selector => {" +
+        "    const elements = resolve(selector);" +
+        "    return { visible: elements.some(isVisible), count: elements.length, text: elements.length ? elements[0].textContent : null };" +
+        "  });" +
+        "}";
+    // Feeds every input through the page in one evaluation and collects the output each one produces
+    private static final String BATCH_SCRIPT =
+        "async ({ input, action, outputs, inputs, timeoutMs }) => {" + RESOLVE_FUNCTION +
+        "  const read = () => {" +
+        "    for (const selector of outputs) {" +
+        "      const el = document.querySelector(selector);" +
+        "      if (el) return (el instanceof HTMLTextAreaElement || el instanceof HTMLInputElement) ? el.value : el.textContent;" +
+        "    }" +
+        "    return null;" +
+        "  };" +
+        "  const frame = () => new Promise(resolve => requestAnimationFrame(() => setTimeout(resolve, 0)));" +
+        "  const results = [];" +
+        "  for (const value of inputs) {" +
+        "    const before = read();" +
+        "    if (input) {" +
+        "      const el = document.querySelector(input);" +
+        "      const proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+        "      Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);" +
+        "      el.dispatchEvent(new Event('input', { bubbles: true }));" +
+        "      el.dispatchEvent(new Event('change', { bubbles: true }));" +
+        "    }" +
+        "    if (action) { await frame(); const button = resolve(action)[0];" +
+        "      if (!button) throw new Error('No element matches ' + action);" +
+        "      button.click(); }" +
+        "    const deadline = performance.now() + timeoutMs;" +
+        "    let output = read();" +
+        "    while (output === before && performance.now() < deadline) { await frame(); output = read(); }" +
+        "    results.push(output);" +
+        "  }" +
+        "  return results;" +
+        "}";
+    public static final boolean CLIENT_SIDE_NAVIGATION = Boolean.parseBoolean(System.getProperty("navigation.clientSide", "true"));
+    protected static final int SETTLE_QUIET_MS = Integer.getInteger("settle.quietMs", 200);
+    protected static final int SETTLE_TIMEOUT_MS = Integer.getInteger("settle.timeoutMs", 5000);
+    protected static final int EXPECT_TIMEOUT_MS = Integer.getInteger("expect.timeoutMs", 5000);
+    protected static final int BATCH_CASE_TIMEOUT_MS = Integer.getInteger("batch.caseTimeoutMs", 1000);
+
+    // Fingerprint of each route right after its first full load, per browser
+    private static final Map<String, String> initialStates = new ConcurrentHashMap<>();
+
     protected Page page;
+    private DomSnapshot dom;
 
+    // A null page gives a read-only page object that answers from a DOM snapshot, see useSnapshot()
     public BasePage(Page page) {
-        this.page = page;
+        this.page = page == null ? null : ActionTimings.instrument(page);
+    }
+
+    // Read-only queries (isVisible, count, textContent, attribute, snapshot) are answered from the snapshot from now on
+    public void useSnapshot(DomSnapshot snapshot) {
+        this.dom = snapshot;
+    }
+
+    // Opens a route on a page that may be reused from an earlier test; ContextPool hands such pages back on a freshly
+    // loaded home page, never on the app a previous test ran in. If the app is already loaded there on another route,
+    // the route is switched through its client-side router (the internal link when there is one, else pushState and
+    // popstate), which skips loading and hydrating the bundle again. The switch only counts when the route then shows
+    // exactly what it showed after its first full load in this run (see ROUTE_STATE_SCRIPT); otherwise, and for the
+    // route the page is already on, a full navigation is made. State the route keeps without showing it (e.g. a
+    // module-level store read only after an interaction) is beyond this check; turn it off with
+    // -Dnavigation.clientSide=false for routes that have such state. Once the route has settled its PageMetrics are
+    // read, tagged with the kind of navigation.
+    public static void open(Page page, String route) {
+        if (CLIENT_SIDE_NAVIGATION && page.url().startsWith("http") && !route.equals(path(page.url()))) {
+            String initial = initialStates.get(stateKey(page, route));
+            if (initial != null && switchRoute(page, route, initial)) {
+                PageMetrics.collect(page, true);
+                return;
+            }
+        }
+        page.navigate(route);
+        boolean firstLoad = CLIENT_SIDE_NAVIGATION && !initialStates.containsKey(stateKey(page, route));
+        if (firstLoad || PageMetrics.ENABLED) {
+            boolean settled = waitForSettled(page, SETTLE_QUIET_MS, SETTLE_TIMEOUT_MS);
+            if (settled && firstLoad) {
+                initialStates.putIfAbsent(stateKey(page, route), routeState(page));
+            }
+        }
+        PageMetrics.collect(page, false);
+    }
+
+    private static boolean switchRoute(Page page, String route, String initialState) {
+        try {
+            page.evaluate(ROUTE_LEAVE_SCRIPT);
+            Locator link = page.locator("a[href='" + route + "']").first();
+            if (link.isVisible()) {
+                link.click();
+            } else {
+                page.evaluate(PUSH_STATE_SCRIPT, route);
+            }
+            return waitForSettled(page, SETTLE_QUIET_MS, SETTLE_TIMEOUT_MS)
+                && Boolean.TRUE.equals(MutationTracking.inspecting(() -> page.evaluate(ROUTE_RENDERED_PREDICATE, route)))
+                && initialState.equals(routeState(page));
+        } catch (PlaywrightException e) {
+            // A dialog, a crashed page or a navigation racing the switch; load the route instead
+            return false;
+        }
     }
 
     public void navigateToHome() {
@@ -20,4 +214,179 @@ public abstract class BasePage {
     public void setMobileViewport() {
         page.setViewportSize(375, 667);
     }
+
+    public boolean waitForSettled() {
+        return waitForSettled(SETTLE_QUIET_MS, SETTLE_TIMEOUT_MS);
+    }
+
+    // Returns once the DOM has had no mutations for quietMs, or false if that did not happen within timeoutMs
+    public boolean waitForSettled(int quietMs, int timeoutMs) {
+        return waitForSettled(page, quietMs, timeoutMs);
+    }
+
+    private static boolean waitForSettled(Page page, int quietMs, int timeoutMs) {
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        boolean settled;
+        try {
+            page.waitForFunction(SETTLED_PREDICATE, quietMs, new Page.WaitForFunctionOptions().setTimeout(timeoutMs));
+            settled = true;
+        } catch (TimeoutError e) {
+            settled = false;
+        }
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.testId = CurrentTest.get();
+            event.kind = "settled";
+            event.quietMs = quietMs;
+            event.timeoutMs = timeoutMs;
+            event.settled = settled;
+            event.commit();
+        }
+        return settled;
+    }
+
+    // Page-clock milliseconds from just before the action to the last DOM change it caused, excluding the
+    // quiet window; -1 if the page did not settle within timeoutMs
+    public double measureUntilSettled(Runnable action, int timeoutMs) {
+        double start = ((Number) MutationTracking.inspecting(() -> page.evaluate(SETTLE_START_SCRIPT))).doubleValue();
+        action.run();
+        if (!waitForSettled(SETTLE_QUIET_MS, timeoutMs)) {
+            return -1;
+        }
+        double last = ((Number) MutationTracking.inspecting(() -> page.evaluate(SETTLE_LAST_SCRIPT))).doubleValue();
+        return Math.max(0, last - start);
+    }
+
+    // Page-clock milliseconds from the first eventType event the action dispatches (e.g. the input of a
+    // keystroke or a click) to the last DOM change after it, so driver round trips are left out; -1 if
+    // no such event fired or the page did not settle within timeoutMs
+    public double measureEventUntilSettled(String eventType, Runnable action, int timeoutMs) {
+        MutationTracking.inspecting(() -> page.evaluate(EVENT_START_SCRIPT, eventType));
+        action.run();
+        if (!waitForSettled(SETTLE_QUIET_MS, timeoutMs)) {
+            return -1;
+        }
+        Object start = MutationTracking.inspecting(() -> page.evaluate(EVENT_AT_SCRIPT));
+        if (start == null) {
+            return -1;
+        }
+        double last = ((Number) MutationTracking.inspecting(() -> page.evaluate(SETTLE_LAST_SCRIPT))).doubleValue();
+        return Math.max(0, last - ((Number) start).doubleValue());
+    }
+
+    // Visibility, match count and first text of every selector from a single in-page evaluation
+    public Map<String, ElementState> snapshot(String... selectors) {
+        if (dom != null) {
+            Map<String, ElementState> states = new LinkedHashMap<>();
+            for (String selector : selectors) {
+                states.put(selector, dom.query(selector));
+            }
+            return states;
+        }
+        return snapshot(page, selectors);
+    }
+
+    static Map<String, ElementState> snapshot(Page page, String... selectors) {
+        List<?> results = (List<?>) MutationTracking.inspecting(() -> page.evaluate(SNAPSHOT_SCRIPT, Arrays.asList(selectors)));
+        Map<String, ElementState> states = new LinkedHashMap<>();
+        for (int i = 0; i < selectors.length; i++) {
+            Map<?, ?> result = (Map<?, ?>) results.get(i);
+            states.put(selectors[i], new ElementState(
+                Boolean.TRUE.equals(result.get("visible")),
+                ((Number) result.get("count")).intValue(),
+                (String) result.get("text")));
+        }
+        return states;
+    }
+
+    // Strict, like Playwright's locators: an ambiguous selector fails on a live page and on a DOM snapshot alike
+    protected boolean isVisible(String selector) {
+        return dom != null ? dom.isVisible(selector) : page.locator(selector).isVisible();
+    }
+
+    // For selectors that are expected to match more than once
+    protected boolean isFirstVisible(String selector) {
+        return dom != null ? dom.isFirstVisible(selector) : page.locator(selector).first().isVisible();
+    }
+
+    protected int count(String selector) {
+        return dom != null ? dom.query(selector).getCount() : page.locator(selector).count();
+    }
+
+    protected String textContent(String selector) {
+        return dom != null ? dom.textContent(selector) : page.locator(selector).textContent();
+    }
+
+    protected String attribute(String selector, String name) {
+        return dom != null ? dom.attribute(selector, name) : page.locator(selector).getAttribute(name);
+    }
+
+    protected boolean allVisible(String... selectors) {
+        return snapshot(selectors).values().stream().allMatch(ElementState::isVisible);
+    }
+
+    protected FallbackLocator fallback(String... candidates) {
+        return new FallbackLocator(page, candidates);
+    }
+
+    private static String routeState(Page page) {
+        return (String) MutationTracking.inspecting(() -> page.evaluate(ROUTE_STATE_SCRIPT));
+    }
+
+    private static String stateKey(Page page, String route) {
+        Browser browser = page.context().browser();
+        return (browser == null ? "" : browser.browserType().name()) + " " + route;
+    }
+
+    private static String path(String url) {
+        try {
+            return URI.create(url).getPath();
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    // Every selector is resolved in the page on every case, so an element the app re-rendered in between is picked
+    // up; the action may use :has-text() or text= and acts on its first match, and the first output selector that
+    // matches wins. An input that leaves the output unchanged costs batch.caseTimeoutMs.
+    protected List<String> batch(String inputSelector, String actionSelector, List<String> outputSelectors, List<String> inputs) {
+        Map<String, Object> arg = new HashMap<>();
+        arg.put("input", inputSelector);
+        arg.put("action", actionSelector);
+        arg.put("outputs", outputSelectors);
+        arg.put("inputs", inputs);
+        arg.put("timeoutMs", BATCH_CASE_TIMEOUT_MS);
+        MutationTracking.recordMutation("batch " + inputSelector);
+        List<String> results = new ArrayList<>();
+        for (Object result : (List<?>) page.evaluate(BATCH_SCRIPT, arg)) {
+            results.add((String) result);
+        }
+        return results;
+    }
+
+    // Web-first checks: Playwright retries them in the browser until they hold or expect.timeoutMs elapses
+    protected void expectVisible(String... selectors) {
+        for (String selector : selectors) {
+            expect("visible", selector, locator -> assertThat(locator)
+                .isVisible(new LocatorAssertions.IsVisibleOptions().setTimeout(EXPECT_TIMEOUT_MS)));
+        }
+    }
+
+    protected void expectText(String selector, String text) {
+        expect("text", selector, locator -> assertThat(locator)
+            .containsText(text, new LocatorAssertions.ContainsTextOptions().setTimeout(EXPECT_TIMEOUT_MS)));
+    }
+
+    protected void expectValue(String selector, String value) {
+        expect("value", selector, locator -> assertThat(locator)
+            .hasValue(value, new LocatorAssertions.HasValueOptions().setTimeout(EXPECT_TIMEOUT_MS)));
+    }
+
+    // Assertions cast to Playwright's own Locator implementation, so they get the unwrapped locator and are timed here
+    private void expect(String kind, String selector, Consumer<Locator> assertion) {
+        Locator locator = ActionTimings.unwrap(page.locator(selector)).first();
+        ActionTimings.time(page, "expect." + kind, selector, () -> assertion.accept(locator));
+    }
 }
@@ -0,0 +1,61 @@
+package com.toolbelt.pages;
+
+import com.microsoft.playwright.Locator;
+import com.toolbelt.instrumentation.MutationTracking;
+
+/**
+ * Fills text inputs with payloads too large for {@link Locator#fill}. The value is sent to the
+ * browser in fixed-size chunks, assembled next to the element and assigned through the native
+ * value setter, then input and change events are dispatched so the app's framework state updates
+ * as it would after typing. Values below -Dfill.bulkThreshold characters still go through fill().
+ */
+public class BulkInput {
+    // A guess, not a measurement: BulkFillBenchmark has not been run to derive it. Set it to the smallest
+    // size at which inject beats fill on every browser once the benchmark has numbers
+    public static final int THRESHOLD = Integer.getInteger("fill.bulkThreshold", 256 * 1024);
+    public static final int CHUNK_SIZE = Integer.getInteger("fill.chunkSize", 1024 * 1024);
+
+    private static final String START_SCRIPT = "el => { el.__toolbeltBulk = []; }";
+    private static final String APPEND_SCRIPT = "(el, chunk) => { el.__toolbeltBulk.push(chunk); }";
+    private static final String COMMIT_SCRIPT =
+        "el => {" +
+        "  const value = el.__toolbeltBulk.join('');" +
+        "  delete el.__toolbeltBulk;" +
+        "  el.focus();" +
+        "  const proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+        "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);" +
+        "  el.dispatchEvent(new Event('input', { bubbles: true }));" +
+        "  el.dispatchEvent(new Event('change', { bubbles: true }));" +
+        "}";
+
+    public static void fill(Locator locator, String value) {
+        if (value.length() < THRESHOLD) {
+            locator.fill(value);
+        } else {
+            inject(locator, value);
+        }
+    }
+
+    public static void inject(Locator locator, String value) {
+        stage(locator, value).run();
+    }
+
+    // Sends the value to the page without assigning it; the returned action assigns it and dispatches
+    // the events, so a measurement can leave the transfer out
+    public static Runnable stage(Locator locator, String value) {
+        MutationTracking.recordMutation("bulk input " + locator);
+        locator.evaluate(START_SCRIPT);
+        int offset = 0;
+        while (offset < value.length()) {
+            int end = Math.min(offset + CHUNK_SIZE, value.length());
+            // Keep surrogate pairs within one chunk so each chunk is valid UTF-16 on the wire; taking the
+            // low surrogate too (rather than backing off) always makes progress, even with a chunk size of 1
+            if (end < value.length() && Character.isHighSurrogate(value.charAt(end - 1))) {
+                end++;
+            }
+            locator.evaluate(APPEND_SCRIPT, value.substring(offset, end));
+            offset = end;
+        }
+        return () -> locator.evaluate(COMMIT_SCRIPT);
+    }
+}
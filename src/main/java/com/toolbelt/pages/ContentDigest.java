@@ -0,0 +1,163 @@
+package com.toolbelt.pages;
+
+import com.microsoft.playwright.Locator;
+import com.toolbelt.instrumentation.MutationTracking;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Summary of a possibly huge string: its UTF-16 length, the SHA-256 of its UTF-8 bytes and short
+ * prefix/suffix windows for readable failure messages. Computed inside the page for an element's
+ * value or text, so only the summary crosses the driver pipe, and in a streaming pass over the
+ * expected value on the Java side. Equal digests mean equal content.
+ */
+public class ContentDigest {
+    public static final int WINDOW = Integer.getInteger("digest.window", 64);
+
+    // crypto.subtle needs a secure context, which https pages and the 127.0.0.1 snapshot server both are
+    private static final String DIGEST_SCRIPT =
+        "async (el, window) => {" +
+        "  const value = (el instanceof HTMLTextAreaElement || el instanceof HTMLInputElement) ? el.value : (el.textContent || '');" +
+        "  const hash = await crypto.subtle.digest('SHA-256', new TextEncoder().encode(value));" +
+        "  const sha256 = Array.from(new Uint8Array(hash), b => b.toString(16).padStart(2, '0')).join('');" +
+        "  return { length: value.length, sha256, prefix: value.slice(0, window), suffix: window > 0 ? value.slice(-window) : '' };" +
+        "}";
+    private static final int BUFFER_CHARS = 64 * 1024;
+    // TextEncoder replaces lone surrogates with U+FFFD, so the Java side must do the same
+    private static final byte[] REPLACEMENT = {(byte) 0xEF, (byte) 0xBF, (byte) 0xBD};
+
+    private final long length;
+    private final String sha256;
+    private final String prefix;
+    private final String suffix;
+
+    public ContentDigest(long length, String sha256, String prefix, String suffix) {
+        this.length = length;
+        this.sha256 = sha256;
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    public static ContentDigest of(Locator locator) {
+        return of(locator, WINDOW);
+    }
+
+    public static ContentDigest of(Locator locator, int window) {
+        Map<?, ?> result = (Map<?, ?>) MutationTracking.inspecting(() -> locator.evaluate(DIGEST_SCRIPT, window));
+        return new ContentDigest(((Number) result.get("length")).longValue(), (String) result.get("sha256"),
+            (String) result.get("prefix"), (String) result.get("suffix"));
+    }
+
+    public static ContentDigest of(String expected) {
+        return of(new StringReader(expected), WINDOW);
+    }
+
+    public static ContentDigest of(Reader expected) {
+        return of(expected, WINDOW);
+    }
+
+    public static ContentDigest of(Reader expected, int window) {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE)
+            .replaceWith(REPLACEMENT);
+        char[] read = new char[BUFFER_CHARS];
+        CharBuffer chars = CharBuffer.allocate(BUFFER_CHARS + 1);
+        ByteBuffer bytes = ByteBuffer.allocate(BUFFER_CHARS * 3 + 3);
+        StringBuilder prefix = new StringBuilder();
+        char[] tail = new char[window];
+        long length = 0;
+
+        try {
+            int n;
+            while ((n = expected.read(read)) != -1) {
+                for (int i = 0; i < n; i++) {
+                    if (prefix.length() < window) {
+                        prefix.append(read[i]);
+                    }
+                    if (window > 0) {
+                        tail[(int) ((length + i) % window)] = read[i];
+                    }
+                }
+                length += n;
+                chars.put(read, 0, n).flip();
+                encoder.encode(chars, bytes, false);
+                sha.update(bytes.flip());
+                bytes.clear();
+                // A trailing high surrogate stays in the buffer until its pair arrives
+                chars.compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        chars.flip();
+        encoder.encode(chars, bytes, true);
+        encoder.flush(bytes);
+        sha.update(bytes.flip());
+
+        StringBuilder hex = new StringBuilder();
+        for (byte b : sha.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        StringBuilder suffix = new StringBuilder();
+        int tailLength = (int) Math.min(length, window);
+        for (long i = length - tailLength; i < length; i++) {
+            suffix.append(tail[(int) (i % window)]);
+        }
+        return new ContentDigest(length, hex.toString(), prefix.toString(), suffix.toString());
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    // Windows are for reading failures only; two digests of the same content with different windows are equal
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof ContentDigest)) {
+            return false;
+        }
+        ContentDigest that = (ContentDigest) other;
+        return length == that.length && sha256.equals(that.sha256);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(length, sha256);
+    }
+
+    @Override
+    public String toString() {
+        return "ContentDigest{length=" + length + ", sha256=" + sha256 + ", prefix='" + prefix + "', suffix='" + suffix + "'}";
+    }
+}
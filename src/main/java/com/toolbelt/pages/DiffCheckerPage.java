@@ -26,11 +26,15 @@ public class DiffCheckerPage extends BasePage {
     }
 
     public void fillText1(String text) {
-        page.locator(TEXT1_TEXTAREA).fill(text);
+        BulkInput.fill(page.locator(TEXT1_TEXTAREA), text);
     }
 
     public void fillText2(String text) {
-        page.locator(TEXT2_TEXTAREA).fill(text);
+        BulkInput.fill(page.locator(TEXT2_TEXTAREA), text);
+    }
+
+    public Runnable stageText2(String text) {
+        return BulkInput.stage(page.locator(TEXT2_TEXTAREA), text);
     }
 
     public void clickSplitView() {
@@ -84,7 +88,7 @@ public class DiffCheckerPage extends BasePage {
     }
 
     public void waitForDiffCalculation() {
-        page.waitForTimeout(500);
+        waitForSettled();
     }
 
     public boolean isTitleVisible() {
@@ -123,6 +127,26 @@ public class DiffCheckerPage extends BasePage {
         return page.locator(STATISTICS).isVisible();
     }
 
+    public void expectIdenticalMessage() {
+        expectVisible(IDENTICAL_MESSAGE);
+    }
+
+    public void expectAddedMessage() {
+        expectVisible(ADDED_MESSAGE);
+    }
+
+    public void expectRemovedMessage() {
+        expectVisible(REMOVED_MESSAGE);
+    }
+
+    public void expectModifiedMessage() {
+        expectVisible(MODIFIED_MESSAGE);
+    }
+
+    public void expectStatistics() {
+        expectVisible(STATISTICS);
+    }
+
     public boolean isOriginalLabelVisible() {
         return page.locator(ORIGINAL_LABEL).first().isVisible();
     }
@@ -0,0 +1,349 @@
+package com.toolbelt.pages;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.microsoft.playwright.Page;
+import com.toolbelt.instrumentation.MutationTracking;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One serialized render of a page: every element in document order with its attributes,
+ * textContent and computed visibility. Queries are answered by a small selector engine over
+ * tag, id and class indexes that understands what the page objects use: text= selectors and
+ * descendant chains of tag, #id, .class, [attr], [attr op 'value'], :has-text() and
+ * :nth-of-type(). Anything else, including text=/regex/, is rejected rather than guessed at.
+ */
+public class DomSnapshot {
+    // Flattens the document into parent-linked records; visibility follows Playwright's definition
+    private static final String CAPTURE_SCRIPT =
+        "() => {" +
+        "  const elements = [...document.querySelectorAll('*')];" +
+        "  const index = new Map(elements.map((el, i) => [el, i]));" +
+        "  return elements.map(el => {" +
+        "    const r = el.getBoundingClientRect();" +
+        "    const attrs = {};" +
+        "    for (const attr of el.attributes) attrs[attr.name] = attr.value;" +
+        "    let typeIndex = 1;" +
+        "    for (let sibling = el.previousElementSibling; sibling; sibling = sibling.previousElementSibling) {" +
+        "      if (sibling.tagName === el.tagName) typeIndex++;" +
+        "    }" +
+        "    return {" +
+        "      tag: el.tagName.toLowerCase()," +
+        "      parent: el.parentElement ? index.get(el.parentElement) : -1," +
+        "      typeIndex," +
+        "      attrs," +
+        "      text: el.textContent," +
+        "      visible: r.width > 0 && r.height > 0 && getComputedStyle(el).visibility !== 'hidden'" +
+        "    };" +
+        "  });" +
+        "}";
+    private static final Pattern ATTRIBUTE = Pattern.compile("\\[\\s*([\\w-]+)\\s*(?:([*^$~]?=)\\s*(?:\"([^\"]*)\"|'([^']*)'|([\\w-]+)))?\\s*]");
+    private static final Pattern HAS_TEXT = Pattern.compile(":has-text\\((?:\"([^\"]*)\"|'([^']*)')\\)");
+    private static final Pattern NTH_OF_TYPE = Pattern.compile(":nth-of-type\\((\\d+)\\)");
+    private static final Pattern NAME = Pattern.compile("(?:\\\\.|[\\w-])+");
+    private static final List<String> SKIPPED_TAGS = List.of("script", "style", "noscript", "template");
+
+    public static class Element {
+        String tag;
+        int parent;
+        int typeIndex;
+        Map<String, String> attrs;
+        String text;
+        boolean visible;
+    }
+
+    private final String url;
+    private final List<Element> elements;
+    private final Map<String, List<Integer>> byTag = new HashMap<>();
+    private final Map<String, List<Integer>> byId = new HashMap<>();
+    private final Map<String, List<Integer>> byClass = new HashMap<>();
+
+    public DomSnapshot(String url, List<Element> elements) {
+        this.url = url;
+        this.elements = elements;
+        for (int i = 0; i < elements.size(); i++) {
+            Element element = elements.get(i);
+            byTag.computeIfAbsent(element.tag, key -> new ArrayList<>()).add(i);
+            String id = element.attrs.get("id");
+            if (id != null) {
+                byId.computeIfAbsent(id, key -> new ArrayList<>()).add(i);
+            }
+            String classes = element.attrs.get("class");
+            if (classes != null) {
+                for (String name : classes.trim().split("\\s+")) {
+                    byClass.computeIfAbsent(name, key -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+    }
+
+    public static DomSnapshot capture(Page page) {
+        Gson gson = new Gson();
+        List<Element> elements = gson.fromJson(gson.toJsonTree(MutationTracking.inspecting(() -> page.evaluate(CAPTURE_SCRIPT))),
+            new TypeToken<List<Element>>() {}.getType());
+        return new DomSnapshot(page.url(), elements);
+    }
+
+    public static DomSnapshot fromJson(String json) {
+        Map<String, Object> document = new Gson().fromJson(json, new TypeToken<Map<String, Object>>() {}.getType());
+        Gson gson = new Gson();
+        List<Element> elements = gson.fromJson(gson.toJsonTree(document.get("elements")), new TypeToken<List<Element>>() {}.getType());
+        return new DomSnapshot((String) document.get("url"), elements);
+    }
+
+    public String toJson() {
+        Map<String, Object> document = new HashMap<>();
+        document.put("url", url);
+        document.put("elements", elements);
+        return new Gson().toJson(document);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    // Same shape as BasePage.snapshot(): visible if any match is, plus the match count and first text
+    public ElementState query(String selector) {
+        List<Integer> matches = resolve(selector);
+        boolean visible = matches.stream().anyMatch(i -> elements.get(i).visible);
+        return new ElementState(visible, matches.size(), matches.isEmpty() ? null : elements.get(matches.get(0)).text);
+    }
+
+    // The strict queries below fail on an ambiguous selector, as Playwright's locators do on a live page
+    public boolean isVisible(String selector) {
+        List<Integer> matches = strict(selector);
+        return !matches.isEmpty() && elements.get(matches.get(0)).visible;
+    }
+
+    public boolean isFirstVisible(String selector) {
+        List<Integer> matches = resolve(selector);
+        return !matches.isEmpty() && elements.get(matches.get(0)).visible;
+    }
+
+    public String textContent(String selector) {
+        return only(selector).text;
+    }
+
+    public String attribute(String selector, String name) {
+        return only(selector).attrs.get(name);
+    }
+
+    private List<Integer> strict(String selector) {
+        List<Integer> matches = resolve(selector);
+        if (matches.size() > 1) {
+            throw new IllegalStateException("Strict mode violation: " + selector + " resolves to " + matches.size()
+                + " elements in the DOM snapshot of " + url);
+        }
+        return matches;
+    }
+
+    private Element only(String selector) {
+        List<Integer> matches = strict(selector);
+        if (matches.isEmpty()) {
+            throw new IllegalStateException("No element in the DOM snapshot of " + url + " matches " + selector);
+        }
+        return elements.get(matches.get(0));
+    }
+
+    private List<Integer> resolve(String selector) {
+        if (selector.startsWith("text=")) {
+            return resolveText(selector.substring(5));
+        }
+        List<Compound> chain = new ArrayList<>();
+        for (String part : selector.trim().split("\\s+(?![^(]*\\))(?![^\\[]*])")) {
+            chain.add(Compound.parse(part, selector));
+        }
+        Compound last = chain.get(chain.size() - 1);
+        List<Integer> matches = new ArrayList<>();
+        for (int i : last.candidates(this)) {
+            if (last.matches(elements.get(i)) && ancestorsMatch(elements.get(i).parent, chain, chain.size() - 2)) {
+                matches.add(i);
+            }
+        }
+        return matches;
+    }
+
+    private boolean ancestorsMatch(int parent, List<Compound> chain, int position) {
+        if (position < 0) {
+            return true;
+        }
+        for (int i = parent; i >= 0; i = elements.get(i).parent) {
+            if (chain.get(position).matches(elements.get(i)) && ancestorsMatch(elements.get(i).parent, chain, position - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Innermost elements whose normalized text matches, as BasePage.snapshot() resolves text= selectors. A
+    // text=/regex/ selector is rejected: Java's regex dialect is not JavaScript's, so it could match differently
+    private List<Integer> resolveText(String body) {
+        if (body.matches("(?s)/.*/[a-z]*")) {
+            throw new IllegalArgumentException("Regular expression text selectors are not supported by the DOM snapshot: text=" + body);
+        }
+        String exact = null;
+        if (body.length() >= 2 && (body.startsWith("'") || body.startsWith("\"")) && body.endsWith(body.substring(0, 1))) {
+            exact = normalize(body.substring(1, body.length() - 1));
+        }
+        String needle = normalize(body).toLowerCase();
+
+        List<Integer> found = new ArrayList<>();
+        for (int i = 0; i < elements.size(); i++) {
+            Element element = elements.get(i);
+            if (SKIPPED_TAGS.contains(element.tag) || !insideBody(i)) {
+                continue;
+            }
+            String text = normalize(element.text);
+            boolean matches = exact != null ? text.equals(exact) : text.toLowerCase().contains(needle);
+            if (matches) {
+                found.add(i);
+            }
+        }
+        // A matching element whose descendant also matches is dropped in favour of the descendant
+        Set<Integer> ancestors = new HashSet<>();
+        for (int i : found) {
+            for (int ancestor = elements.get(i).parent; ancestor >= 0 && ancestors.add(ancestor); ancestor = elements.get(ancestor).parent) {
+                // Walks up until it reaches a chain that is already marked
+            }
+        }
+        List<Integer> innermost = new ArrayList<>();
+        for (int i : found) {
+            if (!ancestors.contains(i)) {
+                innermost.add(i);
+            }
+        }
+        return innermost;
+    }
+
+    private boolean insideBody(int index) {
+        for (int i = elements.get(index).parent; i >= 0; i = elements.get(i).parent) {
+            if (elements.get(i).tag.equals("body")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.replaceAll("\\s+", " ").trim();
+    }
+
+    // One compound selector such as button.primary[title*='Copy']:has-text('Copy')
+    private static class Compound {
+        private String tag;
+        private String id;
+        private final List<String> classes = new ArrayList<>();
+        private final List<String[]> attributes = new ArrayList<>();
+        private final List<String> hasTexts = new ArrayList<>();
+        private int nthOfType;
+
+        static Compound parse(String part, String selector) {
+            Compound compound = new Compound();
+            int position = 0;
+            Matcher name = NAME.matcher(part);
+            if (part.startsWith("*")) {
+                position = 1;
+            } else if (name.lookingAt()) {
+                compound.tag = name.group().toLowerCase();
+                position = name.end();
+            }
+            while (position < part.length()) {
+                char c = part.charAt(position);
+                Matcher matcher;
+                if ((c == '#' || c == '.') && (matcher = NAME.matcher(part).region(position + 1, part.length())).lookingAt()) {
+                    String value = matcher.group().replaceAll("\\\\(.)", "$1");
+                    if (c == '#') {
+                        compound.id = value;
+                    } else {
+                        compound.classes.add(value);
+                    }
+                    position = matcher.end();
+                } else if (c == '[' && (matcher = ATTRIBUTE.matcher(part).region(position, part.length())).lookingAt()) {
+                    String value = matcher.group(3) != null ? matcher.group(3) : matcher.group(4) != null ? matcher.group(4) : matcher.group(5);
+                    compound.attributes.add(new String[]{matcher.group(1), matcher.group(2), value});
+                    position = matcher.end();
+                } else if (c == ':' && (matcher = HAS_TEXT.matcher(part).region(position, part.length())).lookingAt()) {
+                    compound.hasTexts.add(normalize(matcher.group(1) != null ? matcher.group(1) : matcher.group(2)).toLowerCase());
+                    position = matcher.end();
+                } else if (c == ':' && (matcher = NTH_OF_TYPE.matcher(part).region(position, part.length())).lookingAt()) {
+                    compound.nthOfType = Integer.parseInt(matcher.group(1));
+                    position = matcher.end();
+                } else {
+                    throw new IllegalArgumentException("Selector not supported by the DOM snapshot: " + selector);
+                }
+            }
+            return compound;
+        }
+
+        // The narrowest index that can hold a match
+        List<Integer> candidates(DomSnapshot snapshot) {
+            if (id != null) {
+                return snapshot.byId.getOrDefault(id, List.of());
+            }
+            if (!classes.isEmpty()) {
+                return snapshot.byClass.getOrDefault(classes.get(0), List.of());
+            }
+            if (tag != null) {
+                return snapshot.byTag.getOrDefault(tag, List.of());
+            }
+            List<Integer> all = new ArrayList<>();
+            for (int i = 0; i < snapshot.elements.size(); i++) {
+                all.add(i);
+            }
+            return all;
+        }
+
+        boolean matches(Element element) {
+            if (tag != null && !tag.equals(element.tag)) {
+                return false;
+            }
+            if (id != null && !id.equals(element.attrs.get("id"))) {
+                return false;
+            }
+            if (!classes.isEmpty()) {
+                String classAttribute = element.attrs.get("class");
+                List<String> names = classAttribute == null ? List.of() : List.of(classAttribute.trim().split("\\s+"));
+                if (!names.containsAll(classes)) {
+                    return false;
+                }
+            }
+            for (String[] attribute : attributes) {
+                String actual = element.attrs.get(attribute[0]);
+                if (actual == null || !attributeMatches(attribute[1], actual, attribute[2])) {
+                    return false;
+                }
+            }
+            if (nthOfType > 0 && element.typeIndex != nthOfType) {
+                return false;
+            }
+            String text = normalize(element.text).toLowerCase();
+            return hasTexts.stream().allMatch(text::contains);
+        }
+
+        private static boolean attributeMatches(String operator, String actual, String expected) {
+            if (operator == null) {
+                return true;
+            }
+            switch (operator) {
+                case "=":
+                    return actual.equals(expected);
+                case "*=":
+                    return actual.contains(expected);
+                case "^=":
+                    return actual.startsWith(expected);
+                case "$=":
+                    return actual.endsWith(expected);
+                default:
+                    return List.of(actual.trim().split("\\s+")).contains(expected);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.toolbelt.pages;
+
+public class ElementState {
+    private final boolean visible;
+    private final int count;
+    private final String text;
+
+    public ElementState(boolean visible, int count, String text) {
+        this.visible = visible;
+        this.count = count;
+        this.text = text;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return "ElementState{visible=" + visible + ", count=" + count + ", text=" + text + "}";
+    }
+}
@@ -0,0 +1,77 @@
+package com.toolbelt.pages;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A locator with several candidate selectors, tried in order. All candidates are probed in one
+ * in-page query and the winner is remembered per browser and route for the rest of the run, so
+ * later calls only count its matches before acting on it, and probe again once it stops matching.
+ */
+public class FallbackLocator {
+    private static final Map<String, Integer> winners = new ConcurrentHashMap<>();
+
+    private final Page page;
+    private final String[] candidates;
+
+    public FallbackLocator(Page page, String... candidates) {
+        this.page = page;
+        this.candidates = candidates;
+    }
+
+    public boolean click() {
+        return run(locator -> {
+            locator.click();
+            return true;
+        }, false);
+    }
+
+    public boolean fill(String value) {
+        return run(locator -> {
+            locator.fill(value);
+            return true;
+        }, false);
+    }
+
+    public String textContent() {
+        return run(Locator::textContent, "");
+    }
+
+    // The action runs exactly once, with the context's default timeout, on whichever candidate matches
+    private <T> T run(Function<Locator, T> action, T whenMissing) {
+        String key = cacheKey();
+        Integer winner = winners.get(key);
+        if (winner == null || page.locator(candidates[winner]).count() == 0) {
+            // Nothing remembered yet, or the remembered candidate no longer matches here
+            winner = probe();
+            if (winner < 0) {
+                winners.remove(key);
+                return whenMissing;
+            }
+            winners.put(key, winner);
+        }
+        return action.apply(page.locator(candidates[winner]).first());
+    }
+
+    private int probe() {
+        Map<String, ElementState> states = BasePage.snapshot(page, candidates);
+        for (int i = 0; i < candidates.length; i++) {
+            if (states.get(candidates[i]).getCount() > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String cacheKey() {
+        Browser browser = page.context().browser();
+        String browserName = browser == null ? "" : browser.browserType().name();
+        return browserName + " " + URI.create(page.url()).getPath() + " " + String.join(" | ", candidates);
+    }
+}
@@ -2,6 +2,8 @@ package com.toolbelt.pages;
 
 import com.microsoft.playwright.Page;
 
+import java.util.List;
+
 public class HashGeneratorPage extends BasePage {
     private final String INPUT_TEXTAREA = "textarea";
     private final String ALGORITHM_SELECT = "select";
@@ -28,7 +30,11 @@ public class HashGeneratorPage extends BasePage {
     }
 
     public void fillInput(String text) {
-        page.locator(INPUT_TEXTAREA).fill(text);
+        BulkInput.fill(page.locator(INPUT_TEXTAREA), text);
+    }
+
+    public Runnable stageInput(String text) {
+        return BulkInput.stage(page.locator(INPUT_TEXTAREA), text);
     }
 
     public void selectAlgorithm(String algorithm) {
@@ -36,58 +42,44 @@ public class HashGeneratorPage extends BasePage {
     }
 
     public void clickCopy() {
-        if (page.locator(COPY_BUTTON).count() > 0) {
-            page.locator(COPY_BUTTON).first().click();
-        } else if (page.locator(COPY_BUTTON_TEXT).count() > 0) {
-            page.locator(COPY_BUTTON_TEXT).first().click();
-        }
+        fallback(COPY_BUTTON, COPY_BUTTON_TEXT).click();
     }
 
     public void clickSample() {
-        if (page.locator(SAMPLE_BUTTON).count() > 0) {
-            page.locator(SAMPLE_BUTTON).first().click();
-        }
+        fallback(SAMPLE_BUTTON).click();
     }
 
     public void clickBatch() {
-        if (page.locator(BATCH_BUTTON).count() > 0) {
-            page.locator(BATCH_BUTTON).first().click();
-        }
+        fallback(BATCH_BUTTON).click();
     }
 
     public void clickVerifyMode() {
-        if (page.locator(VERIFY_CHECKBOX).count() > 0) {
-            page.locator(VERIFY_CHECKBOX).first().click();
-        }
+        fallback(VERIFY_CHECKBOX).click();
     }
 
     public void fillVerifyInput(String hash) {
-        if (page.locator(VERIFY_INPUT).count() > 0) {
-            page.locator(VERIFY_INPUT).first().fill(hash);
-        } else if (page.locator(VERIFY_INPUT_ALT).count() > 0) {
-            page.locator(VERIFY_INPUT_ALT).first().fill(hash);
-        }
+        fallback(VERIFY_INPUT, VERIFY_INPUT_ALT).fill(hash);
     }
 
     public void clickVerify() {
-        if (page.locator(VERIFY_BUTTON).count() > 0) {
-            page.locator(VERIFY_BUTTON).first().click();
-        }
+        fallback(VERIFY_BUTTON).click();
     }
 
     public void waitForHashGeneration() {
-        page.waitForTimeout(500);
+        waitForSettled();
     }
 
     public String getHashOutput() {
-        if (page.locator(HASH_OUTPUT).count() > 0) {
-            return page.locator(HASH_OUTPUT).first().textContent();
-        } else if (page.locator(HASH_OUTPUT_CODE).count() > 0) {
-            return page.locator(HASH_OUTPUT_CODE).first().textContent();
-        } else if (page.locator(HASH_OUTPUT_MONO).count() > 0) {
-            return page.locator(HASH_OUTPUT_MONO).first().textContent();
-        }
-        return "";
+        return fallback(HASH_OUTPUT, HASH_OUTPUT_CODE, HASH_OUTPUT_MONO).textContent();
+    }
+
+    public List<String> hashAll(String algorithm, List<String> inputs) {
+        selectAlgorithm(algorithm);
+        return batch(INPUT_TEXTAREA, null, List.of(HASH_OUTPUT, HASH_OUTPUT_CODE, HASH_OUTPUT_MONO), inputs);
+    }
+
+    public void expectHash(String hash) {
+        expectVisible("text=" + hash);
     }
 
     public String getInputValue() {
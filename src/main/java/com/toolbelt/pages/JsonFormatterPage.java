@@ -3,6 +3,8 @@ package com.toolbelt.pages;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.options.FilePayload;
 
+import java.util.List;
+
 public class JsonFormatterPage extends BasePage {
     private final String INPUT_TEXTAREA = "textarea[placeholder*='Paste your JSON']";
     private final String OUTPUT_TEXTAREA = "textarea[placeholder*='Formatted JSON']";
@@ -32,7 +34,7 @@ public class JsonFormatterPage extends BasePage {
     }
 
     public void fillInput(String json) {
-        page.locator(INPUT_TEXTAREA).fill(json);
+        BulkInput.fill(page.locator(INPUT_TEXTAREA), json);
     }
 
     public void clickFormat() {
@@ -79,6 +81,21 @@ public class JsonFormatterPage extends BasePage {
         return page.locator(OUTPUT_TEXTAREA).inputValue();
     }
 
+    // Waits for the output to differ from previous, e.g. after formatting a new document, and returns it
+    public String waitForOutputChange(String previous) {
+        page.waitForFunction("([selector, previous]) => { const el = document.querySelector(selector); return !!el && el.value !== previous; }",
+            List.of(OUTPUT_TEXTAREA, previous));
+        return getOutput();
+    }
+
+    public ContentDigest getOutputDigest() {
+        return ContentDigest.of(page.locator(OUTPUT_TEXTAREA));
+    }
+
+    public List<String> formatAll(List<String> inputs) {
+        return batch(INPUT_TEXTAREA, FORMAT_BUTTON, List.of(OUTPUT_TEXTAREA), inputs);
+    }
+
     public String getInput() {
         return page.locator(INPUT_TEXTAREA).inputValue();
     }
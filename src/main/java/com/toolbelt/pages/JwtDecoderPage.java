@@ -42,7 +42,7 @@ public class JwtDecoderPage extends BasePage {
     }
 
     public void fillToken(String token) {
-        page.locator(TOKEN_TEXTAREA).fill(token);
+        BulkInput.fill(page.locator(TOKEN_TEXTAREA), token);
     }
 
     public void clickDecode() {
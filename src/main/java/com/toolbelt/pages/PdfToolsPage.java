@@ -83,178 +83,191 @@ public class PdfToolsPage extends BasePage {
     }
 
     public String getFileInputAcceptAttribute() {
-        return page.locator(FILE_INPUT).getAttribute("accept");
+        return attribute(FILE_INPUT, "accept");
     }
 
     public String getTitleText() {
-        return page.locator(H1_TITLE).textContent();
+        return textContent(H1_TITLE);
     }
 
     public String getRotateButtonClasses() {
-        return page.locator(ROTATE_PDF_BUTTON).getAttribute("class");
+        return attribute(ROTATE_PDF_BUTTON, "class");
     }
 
     public boolean isTitleVisible() {
-        return page.locator(H1_TITLE).isVisible();
+        return isVisible(H1_TITLE);
     }
 
     public boolean isToolsDescriptionVisible() {
-        return page.locator(TOOLS_DESCRIPTION).first().isVisible();
+        return isFirstVisible(TOOLS_DESCRIPTION);
     }
 
     public boolean isPrivacyHeadingVisible() {
-        return page.locator(PRIVACY_HEADING).isVisible();
+        return isVisible(PRIVACY_HEADING);
     }
 
     public boolean isMergePdfsButtonVisible() {
-        return page.locator(MERGE_PDFS_BUTTON).isVisible();
+        return isVisible(MERGE_PDFS_BUTTON);
     }
 
     public boolean isSplitPdfButtonVisible() {
-        return page.locator(SPLIT_PDF_BUTTON).isVisible();
+        return isVisible(SPLIT_PDF_BUTTON);
     }
 
     public boolean isPdfToWordButtonVisible() {
-        return page.locator(PDF_TO_WORD_BUTTON).isVisible();
+        return isVisible(PDF_TO_WORD_BUTTON);
     }
 
     public boolean isWordToPdfButtonVisible() {
-        return page.locator(WORD_TO_PDF_BUTTON).isVisible();
+        return isVisible(WORD_TO_PDF_BUTTON);
     }
 
     public boolean isPdfToImagesButtonVisible() {
-        return page.locator(PDF_TO_IMAGES_BUTTON).isVisible();
+        return isVisible(PDF_TO_IMAGES_BUTTON);
     }
 
     public boolean isImagesToPdfButtonVisible() {
-        return page.locator(IMAGES_TO_PDF_BUTTON).isVisible();
+        return isVisible(IMAGES_TO_PDF_BUTTON);
     }
 
     public boolean isSignPdfButtonVisible() {
-        return page.locator(SIGN_PDF_BUTTON).isVisible();
+        return isVisible(SIGN_PDF_BUTTON);
     }
 
     public boolean isRotatePdfButtonVisible() {
-        return page.locator(ROTATE_PDF_BUTTON).isVisible();
+        return isVisible(ROTATE_PDF_BUTTON);
     }
 
     public boolean isDragDropTextVisible() {
-        return page.locator(DRAG_DROP_TEXT).isVisible();
+        return isVisible(DRAG_DROP_TEXT);
     }
 
     public boolean isChooseFilesTextVisible() {
-        return page.locator(CHOOSE_FILES_TEXT).isVisible();
+        return isVisible(CHOOSE_FILES_TEXT);
     }
 
     public boolean isPrivacyBrowserTextVisible() {
-        return page.locator(PRIVACY_BROWSER_TEXT).isVisible();
+        return isVisible(PRIVACY_BROWSER_TEXT);
     }
 
     public boolean isPrivacyNoUploadTextVisible() {
-        return page.locator(PRIVACY_NO_UPLOAD_TEXT).isVisible();
+        return isVisible(PRIVACY_NO_UPLOAD_TEXT);
     }
 
     public boolean isUploadSplitTextVisible() {
-        return page.locator(UPLOAD_SPLIT_TEXT).isVisible();
+        return isVisible(UPLOAD_SPLIT_TEXT);
     }
 
     public boolean isUploadRotateTextVisible() {
-        return page.locator(UPLOAD_ROTATE_TEXT).isVisible();
+        return isVisible(UPLOAD_ROTATE_TEXT);
     }
 
     public boolean isMergeDescriptionVisible() {
-        return page.locator(MERGE_DESCRIPTION).isVisible();
+        return isVisible(MERGE_DESCRIPTION);
     }
 
     public boolean isHowToMergeVisible() {
-        return page.locator(HOW_TO_MERGE).isVisible();
+        return isVisible(HOW_TO_MERGE);
     }
 
     public boolean isUploadTwoOrMoreVisible() {
-        return page.locator(UPLOAD_TWO_OR_MORE).isVisible();
+        return isVisible(UPLOAD_TWO_OR_MORE);
     }
 
     public boolean isHowToSplitVisible() {
-        return page.locator(HOW_TO_SPLIT).isVisible();
+        return isVisible(HOW_TO_SPLIT);
     }
 
     public boolean isExtractAllPagesVisible() {
-        return page.locator(EXTRACT_ALL_PAGES).isVisible();
+        return isVisible(EXTRACT_ALL_PAGES);
     }
 
     public boolean isMergeProcessButtonVisible() {
-        return page.locator(MERGE_PROCESS_BUTTON).isVisible();
+        return isVisible(MERGE_PROCESS_BUTTON);
     }
 
     public boolean isErrorDisplayVisible() {
-        return page.locator(ERROR_DISPLAY).isVisible();
+        return isVisible(ERROR_DISPLAY);
     }
 
     public boolean isFaqSectionVisible() {
-        return page.locator(FAQ_SECTION).isVisible();
+        return isVisible(FAQ_SECTION);
     }
 
     public boolean isFaqSafeVisible() {
-        return page.locator(FAQ_SAFE).isVisible();
+        return isVisible(FAQ_SAFE);
     }
 
     public boolean isFaqSizeLimitVisible() {
-        return page.locator(FAQ_SIZE_LIMIT).isVisible();
+        return isVisible(FAQ_SIZE_LIMIT);
     }
 
     public boolean isFaqAccountVisible() {
-        return page.locator(FAQ_ACCOUNT).isVisible();
+        return isVisible(FAQ_ACCOUNT);
     }
 
     public boolean isFaqBrowsersVisible() {
-        return page.locator(FAQ_BROWSERS).isVisible();
+        return isVisible(FAQ_BROWSERS);
     }
 
     public boolean isSelectToolHeadingVisible() {
-        return page.locator(SELECT_TOOL_HEADING).isVisible();
+        return isVisible(SELECT_TOOL_HEADING);
     }
 
     public boolean isUploadHeadingVisible() {
-        return page.locator(UPLOAD_HEADING).isVisible();
+        return isVisible(UPLOAD_HEADING);
     }
 
     public boolean isMinimumTwoTextVisible() {
-        return page.locator(MINIMUM_TWO_TEXT).isVisible();
+        return isVisible(MINIMUM_TWO_TEXT);
     }
 
     public boolean isUploadPdfFileTextVisible() {
-        return page.locator(UPLOAD_PDF_FILE_TEXT).first().isVisible();
+        return isFirstVisible(UPLOAD_PDF_FILE_TEXT);
     }
 
     public boolean isProcessingCompleteTextVisible() {
-        return page.locator(PROCESSING_COMPLETE_TEXT).isVisible();
+        return isVisible(PROCESSING_COMPLETE_TEXT);
     }
 
     public boolean isMaximumFilesTextVisible() {
-        return page.locator(MAXIMUM_FILES_TEXT).isVisible();
+        return isVisible(MAXIMUM_FILES_TEXT);
     }
 
     public boolean isSupportedFormatsTextVisible() {
-        return page.locator(SUPPORTED_FORMATS_TEXT).isVisible();
+        return isVisible(SUPPORTED_FORMATS_TEXT);
     }
 
     public boolean isUploadPdfFilesMinTwoVisible() {
-        return page.locator(UPLOAD_PDF_FILES_MIN_TWO).isVisible();
+        return isVisible(UPLOAD_PDF_FILES_MIN_TWO);
     }
 
     public boolean isEditorTextareaVisible() {
-        return page.locator(EDITOR_TEXTAREA).isVisible();
+        return isVisible(EDITOR_TEXTAREA);
     }
 
     public int getSignatureCanvasCount() {
-        return page.locator(SIGNATURE_CANVAS).count();
+        return count(SIGNATURE_CANVAS);
     }
 
     public int getGradientBackgroundCount() {
-        return page.locator(GRADIENT_BACKGROUND).count();
+        return count(GRADIENT_BACKGROUND);
     }
 
     public boolean isFileInputAttached() {
-        return page.locator(FILE_INPUT).count() > 0;
+        return count(FILE_INPUT) > 0;
+    }
+
+    public boolean areAllToolButtonsVisible() {
+        return allVisible(MERGE_PDFS_BUTTON, SPLIT_PDF_BUTTON, PDF_TO_WORD_BUTTON, WORD_TO_PDF_BUTTON,
+            PDF_TO_IMAGES_BUTTON, IMAGES_TO_PDF_BUTTON, SIGN_PDF_BUTTON, ROTATE_PDF_BUTTON);
+    }
+
+    public boolean areAllFaqEntriesVisible() {
+        return allVisible(FAQ_SECTION, FAQ_SAFE, FAQ_SIZE_LIMIT, FAQ_ACCOUNT, FAQ_BROWSERS);
+    }
+
+    public boolean arePrivacyNoticesVisible() {
+        return allVisible(PRIVACY_BROWSER_TEXT, PRIVACY_NO_UPLOAD_TEXT);
     }
 }
@@ -48,7 +48,11 @@ public class RegexTesterPage extends BasePage {
     }
 
     public void fillTestString(String text) {
-        page.fill(TEST_STRING_TEXTAREA, text);
+        BulkInput.fill(page.locator(TEST_STRING_TEXTAREA), text);
+    }
+
+    public Runnable stageTestString(String text) {
+        return BulkInput.stage(page.locator(TEST_STRING_TEXTAREA), text);
     }
 
     public void clickBackToToolbelt() {
@@ -104,11 +108,11 @@ public class RegexTesterPage extends BasePage {
     }
 
     public void waitForResults() {
-        page.waitForTimeout(500);
+        waitForSettled();
     }
 
-    public void waitForResults(int milliseconds) {
-        page.waitForTimeout(milliseconds);
+    public void waitForResults(int timeoutMs) {
+        waitForSettled(SETTLE_QUIET_MS, timeoutMs);
     }
 
     public String getPatternValue() {
@@ -124,99 +128,115 @@ public class RegexTesterPage extends BasePage {
     }
 
     public String getMatchesFoundText() {
-        return page.locator(MATCHES_FOUND).textContent();
+        return textContent(MATCHES_FOUND);
     }
 
     public boolean isTitleVisible() {
-        return page.locator(H1_TITLE).isVisible();
+        return isVisible(H1_TITLE);
     }
 
     public boolean isDescriptionVisible() {
-        return page.locator(DESCRIPTION).isVisible();
+        return isVisible(DESCRIPTION);
     }
 
     public boolean isPatternInputVisible() {
-        return page.locator(PATTERN_INPUT).isVisible();
+        return isVisible(PATTERN_INPUT);
     }
 
     public boolean isTestStringTextareaVisible() {
-        return page.locator(TEST_STRING_TEXTAREA).isVisible();
+        return isVisible(TEST_STRING_TEXTAREA);
     }
 
     public boolean isBackToToolbeltButtonVisible() {
-        return page.locator(BACK_TO_TOOLBELT_BUTTON).isVisible();
+        return isVisible(BACK_TO_TOOLBELT_BUTTON);
     }
 
     public boolean isToolbeltH1Visible() {
-        return page.locator(TOOLBELT_H1).isVisible();
+        return isVisible(TOOLBELT_H1);
     }
 
     public boolean isMatchesFoundVisible() {
-        return page.locator(MATCHES_FOUND).isVisible();
+        return isVisible(MATCHES_FOUND);
     }
 
     public boolean isNoMatchesVisible() {
-        return page.locator(NO_MATCHES).isVisible();
+        return isVisible(NO_MATCHES);
+    }
+
+    public void expectMatchesFound() {
+        expectVisible(MATCHES_FOUND);
+    }
+
+    public void expectMatchesFound(String text) {
+        expectText(MATCHES_FOUND, text);
+    }
+
+    public void expectNoMatches() {
+        expectVisible(NO_MATCHES);
     }
 
     public boolean isEcmaScriptEngineVisible() {
-        return page.locator(ECMA_SCRIPT_ENGINE).isVisible();
+        return isVisible(ECMA_SCRIPT_ENGINE);
     }
 
     public boolean isPythonReModuleVisible() {
-        return page.locator(PYTHON_RE_MODULE).isVisible();
+        return isVisible(PYTHON_RE_MODULE);
     }
 
     public boolean isRe2EngineVisible() {
-        return page.locator(RE2_ENGINE).isVisible();
+        return isVisible(RE2_ENGINE);
     }
 
     public boolean isRegexCrateVisible() {
-        return page.locator(REGEX_CRATE).isVisible();
+        return isVisible(REGEX_CRATE);
     }
 
     public boolean isCapturedGroupsVisible() {
-        return page.locator(CAPTURED_GROUPS).isVisible();
+        return isVisible(CAPTURED_GROUPS);
     }
 
     public boolean isGroup1Visible() {
-        return page.locator(GROUP_1).isVisible();
+        return isVisible(GROUP_1);
     }
 
     public boolean isGroup2Visible() {
-        return page.locator(GROUP_2).isVisible();
+        return isVisible(GROUP_2);
     }
 
     public boolean isPositionTextVisible() {
-        return page.locator(POSITION_TEXT).isVisible();
+        return isVisible(POSITION_TEXT);
     }
 
     public boolean isEnterPatternMessageVisible() {
-        return page.locator(ENTER_PATTERN_MESSAGE).isVisible();
+        return isVisible(ENTER_PATTERN_MESSAGE);
     }
 
     public boolean isPatternLabelVisible() {
-        return page.locator(PATTERN_LABEL).isVisible();
+        return isVisible(PATTERN_LABEL);
     }
 
     public boolean isTestStringLabelVisible() {
-        return page.locator(TEST_STRING_LABEL).isVisible();
+        return isVisible(TEST_STRING_LABEL);
     }
 
     public boolean isFlagsLabelVisible() {
-        return page.locator(FLAGS_LABEL).isVisible();
+        return isVisible(FLAGS_LABEL);
     }
 
     public boolean isResultsLabelVisible() {
-        return page.locator(RESULTS_LABEL).isVisible();
+        return isVisible(RESULTS_LABEL);
     }
 
     public boolean isCopyPatternSvgVisible() {
-        return page.locator(COPY_PATTERN_SVG).isVisible();
+        return isVisible(COPY_PATTERN_SVG);
+    }
+
+    public boolean areAllLabelsVisible() {
+        return allVisible(PATTERN_LABEL, TEST_STRING_LABEL, FLAGS_LABEL, RESULTS_LABEL);
     }
 
     public boolean hasMatchesOrFound() {
-        return page.locator(MATCHES_FOUND).count() > 0 || page.locator("text=/found/i").count() > 0;
+        return count(MATCHES_FOUND) > 0 || count("text=/found/i") > 0;
     }
 
     public void typePattern(String pattern) {
@@ -224,6 +244,10 @@ public class RegexTesterPage extends BasePage {
         page.keyboard().type(pattern);
     }
 
+    public void pressPatternKey(String key) {
+        page.locator(PATTERN_INPUT).press(key);
+    }
+
     public void typeTestString(String text) {
         page.locator(TEST_STRING_TEXTAREA).click();
         page.keyboard().type(text);
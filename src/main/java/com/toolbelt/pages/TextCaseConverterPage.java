@@ -31,7 +31,11 @@ public class TextCaseConverterPage extends BasePage {
     }
 
     public void fillInput(String text) {
-        page.locator(INPUT_TEXTAREA).fill(text);
+        BulkInput.fill(page.locator(INPUT_TEXTAREA), text);
+    }
+
+    public Runnable stageInput(String text) {
+        return BulkInput.stage(page.locator(INPUT_TEXTAREA), text);
     }
 
     public void clickUppercase() {
@@ -91,13 +95,17 @@ public class TextCaseConverterPage extends BasePage {
     }
 
     public void waitForConversion() {
-        page.waitForTimeout(300);
+        waitForSettled();
     }
 
     public String getOutput() {
         return page.locator(OUTPUT_TEXTAREA).inputValue();
     }
 
+    public void expectOutput(String expected) {
+        expectValue(OUTPUT_TEXTAREA, expected);
+    }
+
     public String getInput() {
         return page.locator(INPUT_TEXTAREA).inputValue();
     }
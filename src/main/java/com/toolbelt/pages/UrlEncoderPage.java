@@ -3,6 +3,8 @@ package com.toolbelt.pages;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 
+import java.util.List;
+
 public class UrlEncoderPage extends BasePage {
     private final String INPUT_TEXTAREA = "textarea:nth-of-type(1)";
     private final String OUTPUT_TEXTAREA = "textarea:nth-of-type(2)";
@@ -34,7 +36,11 @@ public class UrlEncoderPage extends BasePage {
     }
 
     public void fillInput(String text) {
-        page.locator(INPUT_TEXTAREA).fill(text);
+        BulkInput.fill(page.locator(INPUT_TEXTAREA), text);
+    }
+
+    public Runnable stageInput(String text) {
+        return BulkInput.stage(page.locator(INPUT_TEXTAREA), text);
     }
 
     public void clickEncode() {
@@ -89,13 +95,22 @@ public class UrlEncoderPage extends BasePage {
     }
 
     public void waitForConversion() {
-        page.waitForTimeout(300);
+        waitForSettled();
     }
 
     public String getOutput() {
         return page.locator(OUTPUT_TEXTAREA).inputValue();
     }
 
+    public ContentDigest getOutputDigest() {
+        return ContentDigest.of(page.locator(OUTPUT_TEXTAREA));
+    }
+
+    public List<String> encodeComponentAll(List<String> inputs) {
+        clickComponent();
+        return batch(INPUT_TEXTAREA, null, List.of(OUTPUT_TEXTAREA), inputs);
+    }
+
     public String getInput() {
         return page.locator(INPUT_TEXTAREA).inputValue();
     }
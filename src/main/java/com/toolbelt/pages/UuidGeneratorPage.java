@@ -1,8 +1,10 @@
 package com.toolbelt.pages;
 
-import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 
+import java.util.Collections;
+import java.util.List;
+
 public class UuidGeneratorPage extends BasePage {
     private final String GENERATE_NEW_BUTTON = "button:has-text('Generate New')";
     private final String VERSION_SELECT = "select";
@@ -39,40 +41,27 @@ public class UuidGeneratorPage extends BasePage {
     }
 
     public void clickUppercase() {
-        if (page.locator(UPPERCASE_CHECKBOX).count() > 0) {
-            page.locator(UPPERCASE_CHECKBOX).first().click();
-        }
+        fallback(UPPERCASE_CHECKBOX).click();
     }
 
     public void clickHyphens() {
-        if (page.locator(HYPHENS_CHECKBOX).count() > 0) {
-            page.locator(HYPHENS_CHECKBOX).first().click();
-        }
+        fallback(HYPHENS_CHECKBOX).click();
     }
 
     public void clickBrackets() {
-        if (page.locator(BRACKETS_CHECKBOX).count() > 0) {
-            page.locator(BRACKETS_CHECKBOX).first().click();
-        }
+        fallback(BRACKETS_CHECKBOX).click();
     }
 
     public void clickCopy() {
-        Locator copyButton = page.locator(COPY_BUTTON).or(page.locator(COPY_TEXT_BUTTON));
-        if (copyButton.count() > 0) {
-            copyButton.first().click();
-        }
+        fallback(COPY_BUTTON, COPY_TEXT_BUTTON).click();
     }
 
     public void clickCopyAll() {
-        if (page.locator(COPY_ALL_BUTTON).count() > 0) {
-            page.locator(COPY_ALL_BUTTON).first().click();
-        }
+        fallback(COPY_ALL_BUTTON).click();
     }
 
     public void clickDownload() {
-        if (page.locator(DOWNLOAD_BUTTON).count() > 0) {
-            page.locator(DOWNLOAD_BUTTON).first().click();
-        }
+        fallback(DOWNLOAD_BUTTON).click();
     }
 
     public String getFirstUuid() {
@@ -83,6 +72,10 @@ public class UuidGeneratorPage extends BasePage {
         return page.locator(UUID_CODE).or(page.locator(UUID_CLASS)).count();
     }
 
+    public List<String> generateAll(int count) {
+        return batch(null, GENERATE_NEW_BUTTON, List.of(UUID_CODE, UUID_CLASS), Collections.nCopies(count, ""));
+    }
+
     public boolean isTitleVisible() {
         return page.locator(H1_TITLE).isVisible();
     }
@@ -1,47 +1,37 @@
 package com.toolbelt.tests;
 
 import com.microsoft.playwright.*;
+import com.toolbelt.instrumentation.ActionTimings;
 import com.toolbelt.pages.Base64EncoderPage;
-import com.toolbelt.utils.BrowserFactory;
+import com.toolbelt.pages.BasePage;
+import com.toolbelt.pages.ContentDigest;
+import com.toolbelt.utils.ContextPool;
+import com.toolbelt.utils.ToolbeltTest;
 import org.junit.jupiter.api.*;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
 import static org.junit.jupiter.api.Assertions.*;
 
+@ToolbeltTest
 public class Base64EncoderTest {
-    private static Playwright playwright;
-    private static Browser browser;
     private BrowserContext context;
     private Page page;
     private Base64EncoderPage base64Page;
 
-    @BeforeAll
-    static void launchBrowser() {
-        playwright = Playwright.create();
-        browser = BrowserFactory.launchBrowser(playwright);
-    }
-
-    @AfterAll
-    static void closeBrowser() {
-        if (browser != null) {
-            browser.close();
-        }
-        if (playwright != null) {
-            playwright.close();
-        }
-    }
-
     @BeforeEach
-    void createContextAndPage() {
-        context = browser.newContext(new Browser.NewContextOptions().setBaseURL("https://toolbelt.site"));
-        page = context.newPage();
-        page.navigate("/base64");
+    void createContextAndPage(Browser browser) {
+        context = ContextPool.acquire(browser);
+        page = ActionTimings.instrument(context.pages().get(0));
+        BasePage.open(page, "/base64");
         base64Page = new Base64EncoderPage(page);
     }
 
     @AfterEach
-    void closeContext() {
+    void releaseContext() {
         if (context != null) {
-            context.close();
+            ContextPool.release(context);
         }
     }
 
@@ -139,6 +129,18 @@ public class Base64EncoderTest {
             assertNotNull(encoded);
             assertTrue(encoded.length() > 0);
         }
+
+        @Test
+        void shouldEncodeLargeInput() {
+            String inputText = "Large payload line for the Base64 encoder\n".repeat(100_000);
+
+            base64Page.fillInput(inputText);
+            base64Page.clickEncodeAction();
+
+            // Compare digests so the multi-megabyte output never leaves the browser
+            String expected = Base64.getEncoder().encodeToString(inputText.getBytes(StandardCharsets.UTF_8));
+            assertEquals(ContentDigest.of(expected), base64Page.getOutputDigest());
+        }
     }
 
     @Nested
@@ -1,47 +1,34 @@
 package com.toolbelt.tests;
 
 import com.microsoft.playwright.*;
+import com.toolbelt.instrumentation.ActionTimings;
+import com.toolbelt.pages.BasePage;
 import com.toolbelt.pages.DiffCheckerPage;
-import com.toolbelt.utils.BrowserFactory;
+import com.toolbelt.utils.ContextPool;
+import com.toolbelt.utils.SyntheticInputs;
+import com.toolbelt.utils.ToolbeltTest;
 import org.junit.jupiter.api.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@ToolbeltTest
 public class DiffCheckerTest {
-    private static Playwright playwright;
-    private static Browser browser;
     private BrowserContext context;
     private Page page;
     private DiffCheckerPage diffPage;
 
-    @BeforeAll
-    static void launchBrowser() {
-        playwright = Playwright.create();
-        browser = BrowserFactory.launchBrowser(playwright);
-    }
-
-    @AfterAll
-    static void closeBrowser() {
-        if (browser != null) {
-            browser.close();
-        }
-        if (playwright != null) {
-            playwright.close();
-        }
-    }
-
     @BeforeEach
-    void createContextAndPage() {
-        context = browser.newContext(new Browser.NewContextOptions().setBaseURL("https://toolbelt.site"));
-        page = context.newPage();
-        page.navigate("/diff");
+    void createContextAndPage(Browser browser) {
+        context = ContextPool.acquire(browser);
+        page = ActionTimings.instrument(context.pages().get(0));
+        BasePage.open(page, "/diff");
         diffPage = new DiffCheckerPage(page);
     }
 
     @AfterEach
-    void closeContext() {
+    void releaseContext() {
         if (context != null) {
-            context.close();
+            ContextPool.release(context);
         }
     }
 
@@ -74,11 +61,8 @@ public class DiffCheckerTest {
             diffPage.fillText1(text);
             diffPage.fillText2(text);
 
-            // Auto-processes - wait for diff to be calculated
-            diffPage.waitForDiffCalculation();
-
             // Should show no differences or statistics showing unchanged
-            assertTrue(diffPage.isIdenticalMessageVisible());
+            diffPage.expectIdenticalMessage();
         }
 
         @Test
@@ -89,11 +73,8 @@ public class DiffCheckerTest {
             diffPage.fillText1(text1);
             diffPage.fillText2(text2);
 
-            // Auto-processes - wait for diff to be calculated
-            diffPage.waitForDiffCalculation();
-
             // Should show differences
-            assertTrue(diffPage.isAddedMessageVisible());
+            diffPage.expectAddedMessage();
         }
 
         @Test
@@ -104,10 +85,7 @@ public class DiffCheckerTest {
             diffPage.fillText1(text1);
             diffPage.fillText2(text2);
 
-            // Auto-processes - wait for diff to be calculated
-            diffPage.waitForDiffCalculation();
-
-            assertTrue(diffPage.isRemovedMessageVisible());
+            diffPage.expectRemovedMessage();
         }
 
         @Test
@@ -118,10 +96,7 @@ public class DiffCheckerTest {
             diffPage.fillText1(text1);
             diffPage.fillText2(text2);
 
-            // Auto-processes - wait for diff to be calculated
-            diffPage.waitForDiffCalculation();
-
-            assertTrue(diffPage.isModifiedMessageVisible());
+            diffPage.expectModifiedMessage();
         }
     }
 
@@ -140,10 +115,10 @@ public class DiffCheckerTest {
 
             // Check if view toggle exists
             diffPage.clickUnifiedView();
-            page.waitForTimeout(200);
+            diffPage.waitForSettled();
 
             diffPage.clickSplitView();
-            page.waitForTimeout(200);
+            diffPage.waitForSettled();
         }
     }
 
@@ -160,11 +135,8 @@ public class DiffCheckerTest {
             diffPage.fillText1(text1);
             diffPage.fillText2(text2);
 
-            // Auto-processes - wait for diff to be calculated
-            diffPage.waitForDiffCalculation();
-
             // With whitespace ignored, should show no changes
-            assertTrue(diffPage.isIdenticalMessageVisible());
+            diffPage.expectIdenticalMessage();
         }
 
         @Test
@@ -178,11 +150,8 @@ public class DiffCheckerTest {
             diffPage.fillText1(text1);
             diffPage.fillText2(text2);
 
-            // Auto-processes - wait for diff to be calculated
-            diffPage.waitForDiffCalculation();
-
             // With case ignored, should show no changes
-            assertTrue(diffPage.isIdenticalMessageVisible());
+            diffPage.expectIdenticalMessage();
         }
     }
 
@@ -241,11 +210,8 @@ public class DiffCheckerTest {
             diffPage.fillText1(text1);
             diffPage.fillText2(text2);
 
-            // Auto-processes - wait for diff to be calculated
-            diffPage.waitForDiffCalculation();
-
             // Check for statistics
-            assertTrue(diffPage.isStatisticsVisible());
+            diffPage.expectStatistics();
         }
     }
 
@@ -259,17 +225,11 @@ public class DiffCheckerTest {
 
         @Test
         void shouldHandleVeryLongTexts() {
-            StringBuilder longText1 = new StringBuilder();
-            StringBuilder longText2 = new StringBuilder();
-
-            for (int i = 0; i < 100; i++) {
-                longText1.append("Line\n");
-                longText2.append("Line\n");
-            }
-            longText2.append("Line\n");
+            String longText1 = SyntheticInputs.diffLeft(1L, 10_000);
+            String longText2 = SyntheticInputs.diffRight(1L, 10_000);
 
-            diffPage.fillText1(longText1.toString());
-            diffPage.fillText2(longText2.toString());
+            diffPage.fillText1(longText1);
+            diffPage.fillText2(longText2);
 
             // Auto-processes - wait for diff to be calculated
             diffPage.waitForDiffCalculation();
@@ -0,0 +1,120 @@
+package com.toolbelt.tests;
+
+import com.microsoft.playwright.*;
+import com.toolbelt.instrumentation.ActionTimings;
+import com.toolbelt.pages.Base64EncoderPage;
+import com.toolbelt.pages.HashGeneratorPage;
+import com.toolbelt.pages.JsonFormatterPage;
+import com.toolbelt.pages.UrlEncoderPage;
+import com.toolbelt.pages.UuidGeneratorPage;
+import com.toolbelt.utils.ContextPool;
+import com.toolbelt.utils.DifferentialFuzzer;
+import com.toolbelt.utils.FuzzInputs;
+import com.toolbelt.utils.Oracles;
+import com.toolbelt.utils.ToolbeltTest;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ToolbeltTest
+public class DifferentialFuzzTest {
+    private BrowserContext context;
+    private Page page;
+
+    @BeforeEach
+    void createContextAndPage(Browser browser) {
+        context = ContextPool.acquire(browser);
+        page = ActionTimings.instrument(context.pages().get(0));
+    }
+
+    @AfterEach
+    void releaseContext() {
+        if (context != null) {
+            ContextPool.release(context);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"MD5, MD5", "SHA1, SHA-1", "SHA256, SHA-256", "SHA512, SHA-512"})
+    void hashGeneratorMatchesMessageDigest(String algorithm, String javaAlgorithm) {
+        page.navigate("/hash");
+        HashGeneratorPage hashPage = new HashGeneratorPage(page);
+
+        DifferentialFuzzer.check("hash-" + algorithm,
+            random -> FuzzInputs.text(random, 1, 200),
+            inputs -> hashPage.hashAll(algorithm, inputs),
+            input -> Oracles.hash(javaAlgorithm, input),
+            output -> output.replaceAll("\\s", "").toLowerCase());
+    }
+
+    @Test
+    void base64EncoderMatchesJavaBase64() {
+        page.navigate("/base64");
+        Base64EncoderPage base64Page = new Base64EncoderPage(page);
+
+        DifferentialFuzzer.check("base64",
+            random -> FuzzInputs.text(random, 1, 200),
+            base64Page::encodeAll,
+            Oracles::base64);
+    }
+
+    @Test
+    void textareaNormalizesLineEndingsBeforeTheTool() {
+        page.navigate("/base64");
+        Base64EncoderPage base64Page = new Base64EncoderPage(page);
+        String input = "line 1\r\nline 2\rline 3\n";
+
+        // The tool encodes the textarea's value, not the raw string, so oracles must not see \r
+        List<String> outputs = base64Page.encodeAll(List.of(input));
+        assertEquals(Oracles.base64(Oracles.textareaValue(input)), outputs.get(0));
+        assertNotEquals(Oracles.base64(input), outputs.get(0));
+
+        Random random = DifferentialFuzzer.random("line-endings");
+        for (int i = 0; i < DifferentialFuzzer.CASES; i++) {
+            String text = FuzzInputs.text(random, 1, 200);
+            assertEquals(Oracles.textareaValue(text), text, "fuzz text contains a carriage return");
+        }
+    }
+
+    @Test
+    void urlEncoderMatchesEncodeUriComponent() {
+        page.navigate("/url-encoder");
+        UrlEncoderPage urlPage = new UrlEncoderPage(page);
+
+        DifferentialFuzzer.check("url-component",
+            random -> FuzzInputs.text(random, 1, 200),
+            urlPage::encodeComponentAll,
+            Oracles::encodeUriComponent);
+    }
+
+    @Test
+    void jsonFormatterMatchesPrettyPrinter() {
+        page.navigate("/json-formatter");
+        JsonFormatterPage jsonPage = new JsonFormatterPage(page);
+
+        DifferentialFuzzer.check("json-format",
+            random -> FuzzInputs.json(random, 4),
+            jsonPage::formatAll,
+            Oracles::prettyJson);
+    }
+
+    @Test
+    void uuidGeneratorProducesDistinctRandomUuids() {
+        page.navigate("/uuid");
+        UuidGeneratorPage uuidPage = new UuidGeneratorPage(page);
+
+        List<String> uuids = uuidPage.generateAll(DifferentialFuzzer.CASES);
+
+        for (String uuid : uuids) {
+            assertNotNull(uuid);
+            assertTrue(Oracles.isRandomUuid(uuid), "not a version 4 UUID: " + uuid);
+        }
+        assertEquals(uuids.size(), new HashSet<>(uuids).size());
+    }
+}
@@ -1,47 +1,33 @@
 package com.toolbelt.tests;
 
 import com.microsoft.playwright.*;
+import com.toolbelt.instrumentation.ActionTimings;
+import com.toolbelt.pages.BasePage;
 import com.toolbelt.pages.HashGeneratorPage;
-import com.toolbelt.utils.BrowserFactory;
+import com.toolbelt.utils.ContextPool;
+import com.toolbelt.utils.ToolbeltTest;
 import org.junit.jupiter.api.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@ToolbeltTest
 public class HashGeneratorTest {
-    private static Playwright playwright;
-    private static Browser browser;
     private BrowserContext context;
     private Page page;
     private HashGeneratorPage hashPage;
 
-    @BeforeAll
-    static void launchBrowser() {
-        playwright = Playwright.create();
-        browser = BrowserFactory.launchBrowser(playwright);
-    }
-
-    @AfterAll
-    static void closeBrowser() {
-        if (browser != null) {
-            browser.close();
-        }
-        if (playwright != null) {
-            playwright.close();
-        }
-    }
-
     @BeforeEach
-    void createContextAndPage() {
-        context = browser.newContext(new Browser.NewContextOptions().setBaseURL("https://toolbelt.site"));
-        page = context.newPage();
-        page.navigate("/hash");
+    void createContextAndPage(Browser browser) {
+        context = ContextPool.acquire(browser);
+        page = ActionTimings.instrument(context.pages().get(0));
+        BasePage.open(page, "/hash");
         hashPage = new HashGeneratorPage(page);
     }
 
     @AfterEach
-    void closeContext() {
+    void releaseContext() {
         if (context != null) {
-            context.close();
+            ContextPool.release(context);
         }
     }
 
@@ -67,11 +53,8 @@ public class HashGeneratorTest {
             hashPage.selectAlgorithm("MD5");
             hashPage.fillInput(input);
 
-            // Auto-generates, wait for hash to appear
-            hashPage.waitForHashGeneration();
-
             // MD5 of "Hello World" is b10a8db164e0754105b7a99be72e3fe5
-            assertTrue(page.locator("text=/b10a8db164e0754105b7a99be72e3fe5/i").isVisible());
+            hashPage.expectHash("b10a8db164e0754105b7a99be72e3fe5");
         }
 
         @Test
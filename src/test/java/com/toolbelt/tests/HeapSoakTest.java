@@ -0,0 +1,88 @@
+package com.toolbelt.tests;
+
+import com.microsoft.playwright.*;
+import com.toolbelt.instrumentation.ActionTimings;
+import com.toolbelt.pages.DiffCheckerPage;
+import com.toolbelt.pages.JsonFormatterPage;
+import com.toolbelt.pages.RegexTesterPage;
+import com.toolbelt.pages.UuidGeneratorPage;
+import com.toolbelt.utils.ContextPool;
+import com.toolbelt.utils.HeapSoak;
+import com.toolbelt.utils.ToolbeltTest;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Repeats tool operations thousands of times on one page, the way a tab stays open all day; opt in with -Dsoak=true
+@ToolbeltTest
+@EnabledIfSystemProperty(named = "soak", matches = "true")
+public class HeapSoakTest {
+    private BrowserContext context;
+    private Page page;
+
+    @BeforeEach
+    void createContextAndPage(Browser browser) {
+        context = ContextPool.acquire(browser);
+        page = ActionTimings.instrument(context.pages().get(0));
+        Assumptions.assumeTrue(HeapSoak.isSupported(page), "Heap sampling needs the Chrome DevTools Protocol");
+    }
+
+    @AfterEach
+    void releaseContext() {
+        if (context != null) {
+            ContextPool.release(context);
+        }
+    }
+
+    @Test
+    void jsonFormatAndClearShouldNotLeak() {
+        page.navigate("/json-formatter");
+        JsonFormatterPage jsonPage = new JsonFormatterPage(page);
+
+        HeapSoak.Result result = HeapSoak.run("json-formatter.format-clear", page, i -> {
+            jsonPage.fillInput("{\"id\":" + i + ",\"name\":\"item " + i + "\",\"tags\":[\"a\",\"b\"],\"nested\":{\"ok\":true}}");
+            jsonPage.clickFormat();
+            jsonPage.fillInput("");
+        });
+
+        assertFalse(result.isLeak(), result.toString());
+    }
+
+    @Test
+    void uuidGenerateNewShouldNotLeak() {
+        page.navigate("/uuid");
+        UuidGeneratorPage uuidPage = new UuidGeneratorPage(page);
+
+        HeapSoak.Result result = HeapSoak.run("uuid-generator.generate-new", page, i -> uuidPage.clickGenerateNew());
+
+        assertFalse(result.isLeak(), result.toString());
+    }
+
+    @Test
+    void diffSampleAndClearShouldNotLeak() {
+        page.navigate("/diff");
+        DiffCheckerPage diffPage = new DiffCheckerPage(page);
+
+        HeapSoak.Result result = HeapSoak.run("diff-checker.sample-clear", page, i -> {
+            diffPage.clickSample();
+            diffPage.clickClear();
+        });
+
+        assertFalse(result.isLeak(), result.toString());
+    }
+
+    @Test
+    void regexTypingShouldNotLeak() {
+        page.navigate("/regex");
+        RegexTesterPage regexPage = new RegexTesterPage(page);
+        regexPage.fillTestString("Call 555-1234 or 555-5678, order 42 ships on 2024-01-15");
+
+        HeapSoak.Result result = HeapSoak.run("regex-tester.typing", page, i -> {
+            regexPage.fillPattern("");
+            regexPage.typePattern("\\d+-" + i % 10);
+        });
+
+        assertFalse(result.isLeak(), result.toString());
+    }
+}
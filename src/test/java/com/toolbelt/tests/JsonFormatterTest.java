@@ -1,47 +1,37 @@
 package com.toolbelt.tests;
 
 import com.microsoft.playwright.*;
+import com.toolbelt.instrumentation.ActionTimings;
+import com.toolbelt.pages.BasePage;
+import com.toolbelt.pages.ContentDigest;
 import com.toolbelt.pages.JsonFormatterPage;
-import com.toolbelt.utils.BrowserFactory;
+import com.toolbelt.utils.ContextPool;
+import com.toolbelt.utils.Oracles;
+import com.toolbelt.utils.PerformanceBudgets;
+import com.toolbelt.utils.SyntheticInputs;
+import com.toolbelt.utils.ToolbeltTest;
 import org.junit.jupiter.api.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@ToolbeltTest
 public class JsonFormatterTest {
-    private static Playwright playwright;
-    private static Browser browser;
     private BrowserContext context;
     private Page page;
     private JsonFormatterPage jsonPage;
 
-    @BeforeAll
-    static void launchBrowser() {
-        playwright = Playwright.create();
-        browser = BrowserFactory.launchBrowser(playwright);
-    }
-
-    @AfterAll
-    static void closeBrowser() {
-        if (browser != null) {
-            browser.close();
-        }
-        if (playwright != null) {
-            playwright.close();
-        }
-    }
-
     @BeforeEach
-    void createContextAndPage() {
-        context = browser.newContext(new Browser.NewContextOptions().setBaseURL("https://toolbelt.site"));
-        page = context.newPage();
-        page.navigate("/json-formatter");
+    void createContextAndPage(Browser browser) {
+        context = ContextPool.acquire(browser);
+        page = ActionTimings.instrument(context.pages().get(0));
+        BasePage.open(page, "/json-formatter");
         jsonPage = new JsonFormatterPage(page);
     }
 
     @AfterEach
-    void closeContext() {
+    void releaseContext() {
         if (context != null) {
-            context.close();
+            ContextPool.release(context);
         }
     }
 
@@ -352,16 +342,8 @@ public class JsonFormatterTest {
 
         @Test
         void shouldHandleLargeJsonFiles() {
-            // Generate large JSON
-            StringBuilder largeJsonBuilder = new StringBuilder("{\"data\":[");
-            for (int i = 0; i < 100; i++) {
-                if (i > 0) largeJsonBuilder.append(",");
-                largeJsonBuilder.append("{\"id\":").append(i)
-                    .append(",\"name\":\"Item ").append(i).append("\"")
-                    .append(",\"value\":").append(Math.random()).append("}");
-            }
-            largeJsonBuilder.append("]}");
-            String largeJson = largeJsonBuilder.toString();
+            // Seeded and cached, so a failure reproduces with the same document
+            String largeJson = SyntheticInputs.json(1L, 10_000);
 
             jsonPage.fillInput(largeJson);
             jsonPage.clickFormat();
@@ -371,6 +353,20 @@ public class JsonFormatterTest {
             assertNotNull(formatted);
             assertTrue(formatted.length() > largeJson.length());
         }
+
+        @Test
+        void shouldFormatOneMegabyteJson() {
+            String largeJson = SyntheticInputs.json(1L, 1_048_576);
+            jsonPage.fillInput(largeJson);
+
+            // Page clock from the click to the rendered output; budgeted in performance-budgets.json
+            double millis = jsonPage.measureEventUntilSettled("click", jsonPage::clickFormat, 10_000);
+            assertTrue(millis >= 0, "formatting did not settle");
+            PerformanceBudgets.record("json-formatter.format-1mb", millis);
+
+            ContentDigest formatted = jsonPage.getOutputDigest();
+            assertEquals(ContentDigest.of(Oracles.prettyJson(largeJson)), formatted);
+        }
     }
 
     @Nested
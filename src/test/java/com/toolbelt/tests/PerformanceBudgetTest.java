@@ -0,0 +1,28 @@
+package com.toolbelt.tests;
+
+import com.toolbelt.utils.PerformanceBudgets;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestFactory;
+
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// One test per performance budget, checked against what the preceding test run measured. Run by
+// the performance-budgets surefire execution once the other tests are done (see pom.xml)
+@Tag("budgets")
+public class PerformanceBudgetTest {
+
+    @TestFactory
+    Stream<DynamicTest> budgets() {
+        return PerformanceBudgets.results(Paths.get("target", "perf-budgets")).stream()
+            .map(result -> DynamicTest.dynamicTest(result.getBudget(), () -> {
+                Assumptions.assumeTrue(result.isMeasured(), result.describe());
+                Assumptions.assumeTrue(result.isEnforced() || !result.isBreached(), result.describe());
+                assertFalse(result.isBreached(), result.describe());
+            }));
+    }
+}
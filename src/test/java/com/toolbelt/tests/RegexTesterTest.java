@@ -1,40 +1,41 @@
 package com.toolbelt.tests;
 
 import com.microsoft.playwright.*;
+import com.toolbelt.instrumentation.ActionTimings;
+import com.toolbelt.pages.BasePage;
 import com.toolbelt.pages.RegexTesterPage;
-import com.toolbelt.utils.BrowserFactory;
+import com.toolbelt.utils.ContextPool;
+import com.toolbelt.utils.DomSnapshots;
+import com.toolbelt.utils.PerformanceBudgets;
+import com.toolbelt.utils.ReadOnly;
+import com.toolbelt.utils.SharedPages;
+import com.toolbelt.utils.StaticContent;
+import com.toolbelt.utils.SyntheticInputs;
+import com.toolbelt.utils.ToolbeltTest;
 import org.junit.jupiter.api.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@ToolbeltTest
 public class RegexTesterTest {
-    private static Playwright playwright;
-    private static Browser browser;
     private BrowserContext context;
     private Page page;
     private RegexTesterPage regexPage;
 
-    @BeforeAll
-    static void launchBrowser() {
-        playwright = Playwright.create();
-        browser = BrowserFactory.launchBrowser(playwright);
-    }
-
-    @AfterAll
-    static void closeBrowser() {
-        if (browser != null) {
-            browser.close();
-        }
-        if (playwright != null) {
-            playwright.close();
-        }
-    }
-
     @BeforeEach
-    void createContextAndPage() {
-        context = browser.newContext(new Browser.NewContextOptions().setBaseURL("https://toolbelt.site"));
-        page = context.newPage();
-        page.navigate("/regex");
+    void createContextAndPage(Browser browser, TestInfo testInfo) {
+        if (DomSnapshots.applies(testInfo)) {
+            regexPage = DomSnapshots.open(browser, "/regex", RegexTesterPage::new);
+            return;
+        }
+        if (SharedPages.applies(testInfo)) {
+            page = SharedPages.get(browser, "/regex", RegexTesterPage::new);
+            regexPage = new RegexTesterPage(page);
+            return;
+        }
+        context = ContextPool.acquire(browser);
+        page = ActionTimings.instrument(context.pages().get(0));
+        BasePage.open(page, "/regex");
         regexPage = new RegexTesterPage(page);
 
         // Wait for the page to load
@@ -42,13 +43,14 @@ public class RegexTesterTest {
     }
 
     @AfterEach
-    void closeContext() {
+    void releaseContext() {
         if (context != null) {
-            context.close();
+            ContextPool.release(context);
         }
     }
 
     @Test
+    @StaticContent
     void shouldLoadTheRegexTesterPageCorrectly() {
         // Check main elements are present
         assertTrue(regexPage.isTitleVisible());
@@ -75,11 +77,8 @@ public class RegexTesterTest {
             regexPage.fillPattern("test");
             regexPage.fillTestString("This is a test string for testing");
 
-            // Wait for results
-            regexPage.waitForResults();
-
             // Check matches found
-            assertTrue(regexPage.isMatchesFoundVisible());
+            regexPage.expectMatchesFound();
         }
 
         @Test
@@ -87,11 +86,8 @@ public class RegexTesterTest {
             regexPage.fillPattern("[");
             regexPage.fillTestString("test");
 
-            // Wait for error
-            regexPage.waitForResults();
-
             // Check no matches with invalid pattern (error is handled gracefully)
-            assertTrue(regexPage.isNoMatchesVisible());
+            regexPage.expectNoMatches();
         }
 
         @Test
@@ -99,11 +95,8 @@ public class RegexTesterTest {
             regexPage.fillPattern("xyz");
             regexPage.fillTestString("abc def ghi");
 
-            // Wait for results
-            regexPage.waitForResults();
-
             // Check no matches message
-            assertTrue(regexPage.isNoMatchesVisible());
+            regexPage.expectNoMatches();
         }
     }
 
@@ -117,10 +110,9 @@ public class RegexTesterTest {
 
             // Toggle global flag
             regexPage.clickFlagG();
-            regexPage.waitForResults();
 
             // Should find multiple matches with global flag
-            assertTrue(page.locator("text=3 matches found").isVisible());
+            regexPage.expectMatchesFound("3 matches found");
         }
 
         @Test
@@ -148,8 +140,7 @@ public class RegexTesterTest {
             regexPage.fillTestString("first line\ntest line\nthird line");
 
             // Without m flag
-            regexPage.waitForResults();
-            assertTrue(regexPage.isNoMatchesVisible());
+            regexPage.expectNoMatches();
 
             // Toggle m flag
             regexPage.clickFlagM();
@@ -236,6 +227,7 @@ public class RegexTesterTest {
     @Nested
     class LanguageFlavors {
         @Test
+        @ReadOnly
         void shouldHaveAll15LanguageFlavors() {
             Locator selectElement = page.locator("select").nth(1); // Second select is for flavors
 
@@ -430,7 +422,7 @@ public class RegexTesterTest {
             regexPage.fillTestString(largeText);
 
             // Should process within reasonable time (5 seconds)
-            regexPage.waitForResults(1000);
+            regexPage.waitForResults(5000);
 
             assertTrue(page.locator("text=/match(es)? found/i").isVisible(new Locator.IsVisibleOptions().setTimeout(5000)));
         }
@@ -445,10 +437,25 @@ public class RegexTesterTest {
             regexPage.fillTestString(testStrings);
 
             // Should process complex validation within reasonable time
-            regexPage.waitForResults(1000);
+            regexPage.waitForResults(5000);
 
             assertTrue(page.locator("text=/match(es)? found/i").isVisible(new Locator.IsVisibleOptions().setTimeout(5000)));
         }
+
+        @Test
+        void shouldShowResultsPromptlyAfterKeystroke() {
+            regexPage.fillTestString(SyntheticInputs.regexHaystack(1L, 2_000));
+            // The closing brace is the keystroke that completes the phone number pattern
+            regexPage.fillPattern("\\d{3}-\\d{4");
+            regexPage.pressPatternKey("End");
+            regexPage.waitForResults();
+
+            // Page clock from the keystroke's input event to the rendered results; budgeted in performance-budgets.json
+            double millis = regexPage.measureEventUntilSettled("input", () -> regexPage.pressPatternKey("}"), 5000);
+            assertTrue(millis >= 0, "results did not settle after the keystroke");
+            PerformanceBudgets.record("regex-tester.keystroke-results", millis);
+            regexPage.expectMatchesFound();
+        }
     }
 
     @Nested
@@ -490,12 +497,10 @@ public class RegexTesterTest {
         }
 
         @Test
+        @StaticContent
         void shouldHaveProperLabelsAndAriaAttributes() {
             // Check for labels
-            assertTrue(regexPage.isPatternLabelVisible());
-            assertTrue(regexPage.isTestStringLabelVisible());
-            assertTrue(regexPage.isFlagsLabelVisible());
-            assertTrue(regexPage.isResultsLabelVisible());
+            assertTrue(regexPage.areAllLabelsVisible());
         }
     }
 
@@ -526,10 +531,8 @@ public class RegexTesterTest {
             regexPage.fillPattern("\\$\\d+\\.\\d{2}");
             regexPage.fillTestString("Price: $19.99 or $5.00");
 
-            regexPage.waitForResults();
-
             // Should find currency matches
-            assertTrue(regexPage.isMatchesFoundVisible());
+            regexPage.expectMatchesFound();
         }
 
         @Test
@@ -556,10 +559,8 @@ public class RegexTesterTest {
                 "@nodomain.com\nnodomain@\nproper-email_123@test-site.org";
 
             regexPage.fillTestString(emails);
-            regexPage.waitForResults();
-
             // Should find valid emails
-            assertTrue(regexPage.isMatchesFoundVisible());
+            regexPage.expectMatchesFound();
         }
 
         @Test
@@ -572,7 +573,7 @@ public class RegexTesterTest {
 
             regexPage.fillTestString(text);
             regexPage.clickFlagG(); // Enable global flag
-            regexPage.waitForResults(1000);
+            regexPage.waitForResults(5000);
 
             // Should find URLs - check for either singular or plural
             assertTrue(regexPage.hasMatchesOrFound());
@@ -586,10 +587,8 @@ public class RegexTesterTest {
                 "ValidPassword123!\nAnotherGood1@Pass\nThisOneIsAlsoValid99#";
 
             regexPage.fillTestString(passwords);
-            regexPage.waitForResults();
-
             // Should identify valid strong passwords
-            assertTrue(regexPage.isMatchesFoundVisible());
+            regexPage.expectMatchesFound();
         }
     }
 }
@@ -0,0 +1,155 @@
+package com.toolbelt.tests;
+
+import com.microsoft.playwright.*;
+import com.toolbelt.instrumentation.ActionTimings;
+import com.toolbelt.pages.*;
+import com.toolbelt.utils.BrowserFactory;
+import com.toolbelt.utils.ContextPool;
+import com.toolbelt.utils.ScalingCurve;
+import com.toolbelt.utils.SyntheticInputs;
+import com.toolbelt.utils.ToolbeltTest;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Latency of each tool as its input grows geometrically in characters; opt in with -Dscaling=true
+@ToolbeltTest
+@EnabledIfSystemProperty(named = "scaling", matches = "true")
+public class ScalingCurveTest {
+    private static final int MIN_SIZE = Integer.getInteger("scaling.minChars", 1024);
+    private static final int MAX_SIZE = Integer.getInteger("scaling.maxChars", 64 * 1024 * 1024);
+    private static final int FACTOR = Integer.getInteger("scaling.factor", 4);
+    private static final int REPEATS = Integer.getInteger("scaling.repeats", 3);
+    private static final int TIMEOUT_MS = Integer.getInteger("scaling.timeoutMs", 120_000);
+
+    private BrowserContext context;
+    private Page page;
+
+    // Untimed setup for one sample; returns the action whose latency is measured. Typed-in inputs are
+    // staged in the page first, so only assigning the value and the tool's reaction are timed
+    private interface Scenario {
+        Runnable prepare(long seed, int size);
+    }
+
+    @BeforeEach
+    void createContextAndPage(Browser browser) {
+        context = ContextPool.acquire(browser);
+        page = ActionTimings.instrument(context.pages().get(0));
+    }
+
+    @AfterEach
+    void releaseContext() {
+        if (context != null) {
+            ContextPool.release(context);
+        }
+    }
+
+    @Test
+    void jsonFormat() {
+        sweep("json-format", "/json-formatter", JsonFormatterPage::new, jsonPage -> (seed, size) -> {
+            jsonPage.fillInput(SyntheticInputs.json(seed, size));
+            jsonPage.waitForSettled();
+            return jsonPage::clickFormat;
+        });
+    }
+
+    @Test
+    void jsonMinify() {
+        sweep("json-minify", "/json-formatter", JsonFormatterPage::new, jsonPage -> (seed, size) -> {
+            jsonPage.fillInput(SyntheticInputs.json(seed, size));
+            jsonPage.waitForSettled();
+            return jsonPage::clickMinify;
+        });
+    }
+
+    @Test
+    void diff() {
+        sweep("diff", "/diff", DiffCheckerPage::new, diffPage -> (seed, size) -> {
+            diffPage.fillText1(SyntheticInputs.diffLeft(seed, size));
+            diffPage.waitForSettled();
+            return diffPage.stageText2(SyntheticInputs.diffRight(seed, size));
+        });
+    }
+
+    @Test
+    void hash() {
+        sweep("hash", "/hash", HashGeneratorPage::new, hashPage -> (seed, size) -> {
+            return hashPage.stageInput(SyntheticInputs.unicodeText(seed, size));
+        });
+    }
+
+    @Test
+    void base64Encode() {
+        sweep("base64-encode", "/base64", Base64EncoderPage::new, base64Page -> (seed, size) -> {
+            base64Page.fillInput(SyntheticInputs.unicodeText(seed, size));
+            base64Page.waitForSettled();
+            return base64Page::clickEncodeAction;
+        });
+    }
+
+    @Test
+    void urlEncode() {
+        sweep("url-encode", "/url-encoder", UrlEncoderPage::new, urlPage -> (seed, size) -> {
+            return urlPage.stageInput(SyntheticInputs.urls(seed, size));
+        });
+    }
+
+    @Test
+    void textCase() {
+        sweep("text-case", "/text-case", TextCaseConverterPage::new, textCasePage -> (seed, size) -> {
+            textCasePage.clickUppercase();
+            textCasePage.waitForSettled();
+            return textCasePage.stageInput(SyntheticInputs.unicodeText(seed, size));
+        });
+    }
+
+    @Test
+    void regex() {
+        sweep("regex", "/regex", RegexTesterPage::new, regexPage -> (seed, size) -> {
+            regexPage.fillPattern("\\d{3}-\\d{4}");
+            regexPage.waitForSettled();
+            return regexPage.stageTestString(SyntheticInputs.regexHaystack(seed, size));
+        });
+    }
+
+    @Test
+    void jwtDecode() {
+        sweep("jwt-decode", "/jwt-decoder", JwtDecoderPage::new, jwtPage -> (seed, size) -> {
+            jwtPage.fillToken(SyntheticInputs.jwt(seed, size));
+            jwtPage.waitForSettled();
+            return jwtPage::clickDecode;
+        });
+    }
+
+    // Every sample starts from a fresh load with its own seed, so no action repeats a state the page already shows
+    private <P extends BasePage> void sweep(String tool, String route, Function<Page, P> pageFactory, Function<P, Scenario> scenario) {
+        ScalingCurve curve = new ScalingCurve(tool, BrowserFactory.browserName());
+        for (long size = MIN_SIZE; size <= MAX_SIZE; size *= FACTOR) {
+            List<Double> samples = new ArrayList<>();
+            try {
+                for (int repeat = 0; repeat < REPEATS; repeat++) {
+                    page.navigate(route);
+                    P toolPage = pageFactory.apply(page);
+                    Runnable action = scenario.apply(toolPage).prepare(repeat + 1, (int) size);
+                    double elapsed = toolPage.measureUntilSettled(action, TIMEOUT_MS);
+                    if (elapsed < 0) {
+                        curve.fail((int) size, "not settled within " + TIMEOUT_MS + " ms");
+                        return;
+                    }
+                    samples.add(elapsed);
+                }
+            } catch (PlaywrightException e) {
+                // Usually a crashed tab or an out of memory renderer: the curve ends here
+                curve.fail((int) size, e.getMessage().lines().findFirst().orElse(e.toString()));
+                return;
+            }
+            curve.add((int) size, samples);
+        }
+        assertNotNull(curve.fit(), "At least two sizes are needed to fit " + tool);
+    }
+}
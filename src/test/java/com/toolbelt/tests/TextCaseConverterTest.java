@@ -1,47 +1,33 @@
 package com.toolbelt.tests;
 
 import com.microsoft.playwright.*;
+import com.toolbelt.instrumentation.ActionTimings;
+import com.toolbelt.pages.BasePage;
 import com.toolbelt.pages.TextCaseConverterPage;
-import com.toolbelt.utils.BrowserFactory;
+import com.toolbelt.utils.ContextPool;
+import com.toolbelt.utils.ToolbeltTest;
 import org.junit.jupiter.api.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@ToolbeltTest
 public class TextCaseConverterTest {
-    private static Playwright playwright;
-    private static Browser browser;
     private BrowserContext context;
     private Page page;
     private TextCaseConverterPage textCasePage;
 
-    @BeforeAll
-    static void launchBrowser() {
-        playwright = Playwright.create();
-        browser = BrowserFactory.launchBrowser(playwright);
-    }
-
-    @AfterAll
-    static void closeBrowser() {
-        if (browser != null) {
-            browser.close();
-        }
-        if (playwright != null) {
-            playwright.close();
-        }
-    }
-
     @BeforeEach
-    void createContextAndPage() {
-        context = browser.newContext(new Browser.NewContextOptions().setBaseURL("https://toolbelt.site"));
-        page = context.newPage();
-        page.navigate("/text-case");
+    void createContextAndPage(Browser browser) {
+        context = ContextPool.acquire(browser);
+        page = ActionTimings.instrument(context.pages().get(0));
+        BasePage.open(page, "/text-case");
         textCasePage = new TextCaseConverterPage(page);
     }
 
     @AfterEach
-    void closeContext() {
+    void releaseContext() {
         if (context != null) {
-            context.close();
+            ContextPool.release(context);
         }
     }
 
@@ -68,11 +54,7 @@ public class TextCaseConverterTest {
             textCasePage.clickUppercase();
             textCasePage.fillInput(input);
 
-            // Auto-converts, wait for processing
-            textCasePage.waitForConversion();
-
-            String output = textCasePage.getOutput();
-            assertEquals("HELLO WORLD", output);
+            textCasePage.expectOutput("HELLO WORLD");
         }
 
         @Test
@@ -82,11 +64,7 @@ public class TextCaseConverterTest {
             textCasePage.clickLowercase();
             textCasePage.fillInput(input);
 
-            // Auto-converts, wait for processing
-            textCasePage.waitForConversion();
-
-            String output = textCasePage.getOutput();
-            assertEquals("hello world", output);
+            textCasePage.expectOutput("hello world");
         }
 
         @Test
@@ -96,11 +74,7 @@ public class TextCaseConverterTest {
             textCasePage.clickTitleCase();
             textCasePage.fillInput(input);
 
-            // Auto-converts, wait for processing
-            textCasePage.waitForConversion();
-
-            String output = textCasePage.getOutput();
-            assertEquals("Hello World Test", output);
+            textCasePage.expectOutput("Hello World Test");
         }
 
         @Test
@@ -110,11 +84,7 @@ public class TextCaseConverterTest {
             textCasePage.clickCamelCase();
             textCasePage.fillInput(input);
 
-            // Auto-converts, wait for processing
-            textCasePage.waitForConversion();
-
-            String output = textCasePage.getOutput();
-            assertEquals("helloWorldTest", output);
+            textCasePage.expectOutput("helloWorldTest");
         }
 
         @Test
@@ -124,11 +94,7 @@ public class TextCaseConverterTest {
             textCasePage.clickPascalCase();
             textCasePage.fillInput(input);
 
-            // Auto-converts, wait for processing
-            textCasePage.waitForConversion();
-
-            String output = textCasePage.getOutput();
-            assertEquals("HelloWorldTest", output);
+            textCasePage.expectOutput("HelloWorldTest");
         }
 
         @Test
@@ -138,11 +104,7 @@ public class TextCaseConverterTest {
             textCasePage.clickSnakeCase();
             textCasePage.fillInput(input);
 
-            // Auto-converts, wait for processing
-            textCasePage.waitForConversion();
-
-            String output = textCasePage.getOutput();
-            assertEquals("hello_world_test", output);
+            textCasePage.expectOutput("hello_world_test");
         }
 
         @Test
@@ -152,11 +114,7 @@ public class TextCaseConverterTest {
             textCasePage.clickKebabCase();
             textCasePage.fillInput(input);
 
-            // Auto-converts, wait for processing
-            textCasePage.waitForConversion();
-
-            String output = textCasePage.getOutput();
-            assertEquals("hello-world-test", output);
+            textCasePage.expectOutput("hello-world-test");
         }
 
         @Test
@@ -166,11 +124,7 @@ public class TextCaseConverterTest {
             textCasePage.clickConstantCase();
             textCasePage.fillInput(input);
 
-            // Auto-converts, wait for processing
-            textCasePage.waitForConversion();
-
-            String output = textCasePage.getOutput();
-            assertEquals("HELLO_WORLD_TEST", output);
+            textCasePage.expectOutput("HELLO_WORLD_TEST");
         }
     }
 
@@ -269,11 +223,7 @@ public class TextCaseConverterTest {
             textCasePage.clickUppercase();
             textCasePage.fillInput("mobile test");
 
-            // Auto-converts, wait for processing
-            textCasePage.waitForConversion();
-
-            String output = textCasePage.getOutput();
-            assertEquals("MOBILE TEST", output);
+            textCasePage.expectOutput("MOBILE TEST");
         }
     }
 
@@ -0,0 +1,61 @@
+package com.toolbelt.utils;
+
+import com.microsoft.playwright.Browser;
+import com.toolbelt.instrumentation.CurrentTest;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * Hands out browsers from {@link BrowserPool} so test classes share Playwright drivers and
+ * browser processes instead of launching their own. How many tests drive the browser at once is
+ * set by the size of the JUnit pool, see {@link BrowserParallelism}. The pool is closed once, when
+ * the root extension context is torn down at the end of the run.
+ */
+public class BrowserExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback, ParameterResolver {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(BrowserExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("browserPool",
+            key -> (ExtensionContext.Store.CloseableResource) BrowserPool::closeAll);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        CurrentTest.set(ShardExtension.testKey(context));
+        ResourceBlocking.setFullFidelity(isVisual(context));
+    }
+
+    // A @Nested test inherits @Visual from any class it is nested in
+    private static boolean isVisual(ExtensionContext context) {
+        if (context.getRequiredTestMethod().isAnnotationPresent(Visual.class)) {
+            return true;
+        }
+        for (Class<?> type = context.getRequiredTestClass(); type != null; type = type.getEnclosingClass()) {
+            if (type.isAnnotationPresent(Visual.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        CurrentTest.clear();
+        ResourceBlocking.setFullFidelity(false);
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == Browser.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return BrowserPool.get();
+    }
+}
@@ -3,21 +3,41 @@ package com.toolbelt.utils;
 import com.microsoft.playwright.Browser;
 import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Playwright;
+import com.toolbelt.instrumentation.BrowserLaunchEvent;
+import com.toolbelt.instrumentation.CurrentTest;
 
 public class BrowserFactory {
+    public static String browserName() {
+        return System.getProperty("browser", "chromium").toLowerCase();
+    }
+
     public static Browser launchBrowser(Playwright playwright) {
-        String browserName = System.getProperty("browser", "chromium").toLowerCase();
+        return launchBrowser(playwright, browserName());
+    }
 
-        BrowserType.LaunchOptions options = new BrowserType.LaunchOptions();
+    public static Browser launchBrowser(Playwright playwright, String browserName) {
+        BrowserLaunchEvent event = new BrowserLaunchEvent();
+        event.begin();
+        Browser browser = browserType(playwright, browserName).launch(new BrowserType.LaunchOptions());
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.testId = CurrentTest.get();
+            event.browser = browserName;
+            event.commit();
+        }
+        return browser;
+    }
 
+    private static BrowserType browserType(Playwright playwright, String browserName) {
         switch (browserName) {
             case "firefox":
-                return playwright.firefox().launch(options);
+                return playwright.firefox();
             case "webkit":
-                return playwright.webkit().launch(options);
+                return playwright.webkit();
             case "chromium":
             default:
-                return playwright.chromium().launch(options);
+                return playwright.chromium();
         }
     }
 }
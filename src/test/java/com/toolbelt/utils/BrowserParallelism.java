@@ -0,0 +1,70 @@
+package com.toolbelt.utils;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Sizes the JUnit work-stealing pool by the browser under test, which caps how many tests drive
+ * it at once: a run (or a daemon request) uses a single browser, so the pool size is its limit.
+ * Limits default to all cores for chromium, half for firefox and a quarter for webkit, and can
+ * be set with -Dbrowser.limit.&lt;name&gt;.
+ */
+public class BrowserParallelism implements ParallelExecutionConfigurationStrategy {
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters parameters) {
+        int parallelism = parameters.get("custom.parallelism", Integer::valueOf)
+            .orElse(Math.min(CORES, limit(BrowserFactory.browserName())));
+        return new ParallelExecutionConfiguration() {
+            @Override
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            @Override
+            public int getMinimumRunnable() {
+                return parallelism;
+            }
+
+            @Override
+            public int getMaxPoolSize() {
+                return parallelism + 256;
+            }
+
+            @Override
+            public int getCorePoolSize() {
+                return parallelism;
+            }
+
+            @Override
+            public int getKeepAliveSeconds() {
+                return 30;
+            }
+
+            @Override
+            public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+                return pool -> true;
+            }
+        };
+    }
+
+    public static int limit(String browserName) {
+        int defaultLimit;
+        switch (browserName) {
+            case "webkit":
+                defaultLimit = CORES / 4;
+                break;
+            case "firefox":
+                defaultLimit = CORES / 2;
+                break;
+            default:
+                defaultLimit = CORES;
+        }
+        return Math.max(1, Integer.getInteger("browser.limit." + browserName, defaultLimit));
+    }
+}
@@ -0,0 +1,77 @@
+package com.toolbelt.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps running browsers keyed by browser name. Playwright objects may only be used from the
+ * thread that created them, so every test worker thread gets its own driver and browsers.
+ */
+public class BrowserPool {
+    private static final ThreadLocal<Worker> workers = new ThreadLocal<>();
+    private static final List<Worker> allWorkers = new ArrayList<>();
+    private static volatile boolean retained;
+
+    public static Browser get(String browserName) {
+        Worker worker = workers.get();
+        if (worker == null || worker.closed) {
+            worker = new Worker();
+            workers.set(worker);
+            synchronized (allWorkers) {
+                allWorkers.add(worker);
+            }
+        }
+
+        Browser browser = worker.browsers.get(browserName);
+        if (browser == null || !browser.isConnected()) {
+            browser = BrowserFactory.launchBrowser(worker.playwright, browserName);
+            worker.browsers.put(browserName, browser);
+        }
+        return browser;
+    }
+
+    public static Browser get() {
+        return get(BrowserFactory.browserName());
+    }
+
+    // While retained, closeAll() at the end of a test run leaves everything open for the next run in this JVM
+    public static void retain(boolean retain) {
+        retained = retain;
+    }
+
+    public static void closeAll() {
+        if (retained) {
+            return;
+        }
+        ContextPool.clear();
+        synchronized (allWorkers) {
+            for (Worker worker : allWorkers) {
+                worker.close();
+            }
+            allWorkers.clear();
+        }
+        SiteSnapshot.finish();
+    }
+
+    private static class Worker {
+        private final Playwright playwright = Playwright.create();
+        private final Map<String, Browser> browsers = new HashMap<>();
+        private volatile boolean closed;
+
+        private void close() {
+            closed = true;
+            for (Browser browser : browsers.values()) {
+                if (browser.isConnected()) {
+                    browser.close();
+                }
+            }
+            browsers.clear();
+            playwright.close();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.toolbelt.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.toolbelt.instrumentation.ContextCreationEvent;
+import com.toolbelt.instrumentation.CurrentTest;
+import com.toolbelt.instrumentation.PageMetrics;
+import com.toolbelt.pages.BasePage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recycles browser contexts between tests instead of creating a new one each time.
+ * A released context is reset (extra pages, storage, cookies, permissions, viewport)
+ * and kept idle so the next test can start on it straight away.
+ */
+public class ContextPool {
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("contextPool", "true"));
+    private static final int MAX_IDLE = Integer.getInteger("contextPool.size", 2);
+    private static final int VIEWPORT_WIDTH = 1280;
+    private static final int VIEWPORT_HEIGHT = 720;
+
+    private static final Map<Browser, Deque<BrowserContext>> idle = new HashMap<>();
+
+    // Only the idle deques are guarded; creating and resetting contexts is Playwright I/O and runs unlocked
+    public static BrowserContext acquire(Browser browser) {
+        BrowserContext context = poll(browser);
+        if (context == null) {
+            return create(browser);
+        }
+        ResourceBlocking.prepare(context);
+        return context;
+    }
+
+    public static void release(BrowserContext context) {
+        Browser browser = context.browser();
+        if (!ENABLED || !browser.isConnected() || idleCount(browser) >= MAX_IDLE) {
+            closeQuietly(context);
+            return;
+        }
+
+        try {
+            reset(context);
+        } catch (PlaywrightException e) {
+            closeQuietly(context);
+            return;
+        }
+        if (!offer(browser, context)) {
+            closeQuietly(context);
+        }
+    }
+
+    public static void prepare(Browser browser) {
+        int missing = ENABLED ? MAX_IDLE - idleCount(browser) : 0;
+        for (int i = 0; i < missing; i++) {
+            BrowserContext context = create(browser);
+            if (!offer(browser, context)) {
+                closeQuietly(context);
+                return;
+            }
+        }
+    }
+
+    // Closes a context instead of recycling it, e.g. from a thread other than the one that uses it
+    public static void close(BrowserContext context) {
+        closeQuietly(context);
+    }
+
+    public static void clear() {
+        List<BrowserContext> closing = new ArrayList<>();
+        synchronized (idle) {
+            idle.values().forEach(closing::addAll);
+            idle.clear();
+        }
+        closing.forEach(ContextPool::closeQuietly);
+    }
+
+    private static BrowserContext poll(Browser browser) {
+        synchronized (idle) {
+            Deque<BrowserContext> contexts = idle.get(browser);
+            return contexts == null ? null : contexts.poll();
+        }
+    }
+
+    private static boolean offer(Browser browser, BrowserContext context) {
+        synchronized (idle) {
+            Deque<BrowserContext> contexts = idle.computeIfAbsent(browser, key -> new ArrayDeque<>());
+            return contexts.size() < MAX_IDLE && contexts.offer(context);
+        }
+    }
+
+    private static int idleCount(Browser browser) {
+        synchronized (idle) {
+            Deque<BrowserContext> contexts = idle.get(browser);
+            return contexts == null ? 0 : contexts.size();
+        }
+    }
+
+    private static BrowserContext create(Browser browser) {
+        ContextCreationEvent event = new ContextCreationEvent();
+        event.begin();
+        BrowserContext context = browser.newContext(new Browser.NewContextOptions()
+            .setBaseURL(SiteSnapshot.baseUrl())
+            .setViewportSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT));
+        SiteSnapshot.apply(context);
+        ResourceBlocking.apply(context);
+        context.addInitScript(BasePage.SETTLE_OBSERVER_SCRIPT);
+        if (PageMetrics.ENABLED) {
+            context.addInitScript(PageMetrics.OBSERVER_SCRIPT);
+        }
+        context.newPage();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.testId = CurrentTest.get();
+            event.browser = browser.browserType().name();
+            event.commit();
+        }
+        return context;
+    }
+
+    private static void reset(BrowserContext context) {
+        List<Page> pages = context.pages();
+        for (int i = 1; i < pages.size(); i++) {
+            pages.get(i).close();
+        }
+
+        Page page = pages.isEmpty() ? context.newPage() : pages.get(0);
+        // Storage can only be cleared for the origin the page is currently on
+        page.evaluate("() => { try { localStorage.clear(); sessionStorage.clear(); } catch (e) {} }");
+        // The app that ran the test still holds its in-memory state, so it is replaced: by a freshly loaded app the
+        // next test can switch routes on client-side (see BasePage.open()), or by a blank page
+        if (BasePage.CLIENT_SIDE_NAVIGATION && page.url().startsWith("http")) {
+            page.navigate("/");
+        } else {
+            page.navigate("about:blank");
+        }
+        page.setViewportSize(VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+
+        context.clearCookies();
+        context.clearPermissions();
+    }
+
+    private static void closeQuietly(BrowserContext context) {
+        ResourceBlocking.forget(context);
+        try {
+            context.close();
+        } catch (PlaywrightException e) {
+            // Already gone together with its browser
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.toolbelt.utils;
+
+import com.google.gson.Gson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Differential fuzzing of a tool page against a Java oracle. Seeded inputs are pushed through the
+ * already loaded page in batches (one driver round trip per batch, no reloads) and every output is
+ * compared with the oracle's. A failure lists the first mismatches with their case index and the
+ * seed, so -Dfuzz.seed reproduces the run. -Dfuzz.cases and -Dfuzz.batch size the run.
+ */
+public class DifferentialFuzzer {
+    public static final long SEED = Long.getLong("fuzz.seed", 1L);
+    public static final int CASES = Integer.getInteger("fuzz.cases", 1000);
+    public static final int BATCH = Integer.getInteger("fuzz.batch", 100);
+    private static final int REPORTED_MISMATCHES = 10;
+    private static final int PREVIEW_CHARS = 120;
+    private static final Gson GSON = new Gson();
+
+    public static Random random(String tool) {
+        return new Random(SEED ^ tool.hashCode());
+    }
+
+    public static void check(String tool, Function<Random, String> generator,
+                             Function<List<String>, List<String>> page, Function<String, String> oracle) {
+        check(tool, generator, page, oracle, UnaryOperator.identity());
+    }
+
+    public static void check(String tool, Function<Random, String> generator, Function<List<String>, List<String>> page,
+                             Function<String, String> oracle, UnaryOperator<String> normalizeOutput) {
+        Random random = random(tool);
+        List<String> mismatches = new ArrayList<>();
+        int failures = 0;
+
+        for (int start = 0; start < CASES; start += BATCH) {
+            List<String> inputs = new ArrayList<>();
+            for (int i = start; i < Math.min(start + BATCH, CASES); i++) {
+                inputs.add(generator.apply(random));
+            }
+            List<String> outputs = page.apply(inputs);
+            for (int i = 0; i < inputs.size(); i++) {
+                String expected = oracle.apply(inputs.get(i));
+                String actual = outputs.get(i) == null ? null : normalizeOutput.apply(outputs.get(i));
+                if (!expected.equals(actual)) {
+                    failures++;
+                    if (mismatches.size() < REPORTED_MISMATCHES) {
+                        mismatches.add("case " + (start + i) + ": input " + preview(inputs.get(i))
+                            + "\n    expected " + preview(expected) + "\n    actual   " + preview(actual));
+                    }
+                }
+            }
+        }
+
+        if (failures > 0) {
+            fail(tool + ": " + failures + " of " + CASES + " cases differ from the oracle (seed " + SEED + ")\n  "
+                + String.join("\n  ", mismatches));
+        }
+    }
+
+    private static String preview(String value) {
+        if (value == null) {
+            return "null";
+        }
+        String shown = value.length() > PREVIEW_CHARS ? value.substring(0, PREVIEW_CHARS) + "..." : value;
+        return GSON.toJson(shown) + " (" + value.length() + " chars)";
+    }
+}
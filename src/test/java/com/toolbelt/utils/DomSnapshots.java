@@ -0,0 +1,76 @@
+package com.toolbelt.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.toolbelt.pages.BasePage;
+import com.toolbelt.pages.DomSnapshot;
+import org.junit.jupiter.api.TestInfo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * One {@link DomSnapshot} per route and browser, captured the first time a {@link StaticContent}
+ * test asks for it and shared by every later one, so those tests cost one navigation per route
+ * instead of one each. Captures of a recorded site (replay and serve modes) are also kept under
+ * -Ddom.snapshotDir per site snapshot version and reused by later runs; live captures only last
+ * for the run. Disable with -Ddom.snapshot=false to run the same tests against real pages.
+ */
+public class DomSnapshots {
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("dom.snapshot", "true"));
+    private static final Path DIR = Paths.get(System.getProperty("dom.snapshotDir", "target/dom-snapshots"));
+
+    private static final Map<String, DomSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    public static boolean applies(TestInfo testInfo) {
+        return ENABLED && testInfo.getTestMethod().map(method -> method.isAnnotationPresent(StaticContent.class)).orElse(false);
+    }
+
+    // A read-only page object for the route, answered from the snapshot without a page of its own
+    public static <T extends BasePage> T open(Browser browser, String route, Function<Page, T> pageObject) {
+        String browserName = browser.browserType().name();
+        DomSnapshot snapshot = snapshots.computeIfAbsent(browserName + " " + route, key -> load(browser, route, pageObject));
+        T page = pageObject.apply(null);
+        page.useSnapshot(snapshot);
+        return page;
+    }
+
+    private static DomSnapshot load(Browser browser, String route, Function<Page, ? extends BasePage> pageObject) {
+        boolean recorded = SiteSnapshot.isRecorded();
+        Path file = DIR.resolve(SiteSnapshot.version()).resolve(browser.browserType().name())
+            .resolve((route.replaceAll("[^\\w-]", "_")) + ".json");
+        try {
+            if (recorded && Files.exists(file)) {
+                return DomSnapshot.fromJson(Files.readString(file, StandardCharsets.UTF_8));
+            }
+            DomSnapshot snapshot = capture(browser, route, pageObject);
+            if (recorded) {
+                Files.createDirectories(file.getParent());
+                Files.writeString(file, snapshot.toJson(), StandardCharsets.UTF_8);
+            }
+            return snapshot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to cache DOM snapshot in " + file, e);
+        }
+    }
+
+    private static DomSnapshot capture(Browser browser, String route, Function<Page, ? extends BasePage> pageObject) {
+        BrowserContext context = ContextPool.acquire(browser);
+        try {
+            Page page = context.pages().get(0);
+            BasePage.open(page, route);
+            pageObject.apply(page).waitForSettled();
+            return DomSnapshot.capture(page);
+        } finally {
+            ContextPool.release(context);
+        }
+    }
+}
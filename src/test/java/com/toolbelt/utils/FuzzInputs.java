@@ -0,0 +1,122 @@
+package com.toolbelt.utils;
+
+import java.util.Random;
+
+/**
+ * Seeded generators for differential fuzzing. Inputs only contain well-formed Unicode (no lone
+ * surrogates), text contains no carriage returns (a textarea's value turns them into \n before the
+ * tool sees it, see {@link Oracles#textareaValue}) and JSON documents avoid constructs whose
+ * formatting differs between JavaScript and Java (fractional numbers, numeric keys, U+2028/U+2029),
+ * so a mismatch with the oracle means a tool bug.
+ */
+public class FuzzInputs {
+    private static final String ASCII = " !\"#$%&'()*+,-./0123456789:;<=>?@ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_`abcdefghijklmnopqrstuvwxyz{|}~";
+    private static final String TEXT_WHITESPACE = " \t\n";
+    // Literal whitespace between JSON tokens, which does not reach the formatted output
+    private static final String JSON_WHITESPACE = " \t\n\r";
+    private static final int[][] RANGES = {
+        {0x00A0, 0x00FF},   // Latin-1 supplement
+        {0x0370, 0x03FF},   // Greek
+        {0x0400, 0x04FF},   // Cyrillic
+        {0x4E00, 0x4FFF},   // CJK
+        {0x1F300, 0x1F5FF}, // emoji, outside the BMP
+    };
+    private static final String KEY_CHARS = "abcdefghijklmnopqrstuvwxyz_";
+
+    public static String text(Random random, int maxLength) {
+        return text(random, 0, maxLength);
+    }
+
+    public static String text(Random random, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            int kind = random.nextInt(10);
+            if (kind < 6) {
+                builder.append(ASCII.charAt(random.nextInt(ASCII.length())));
+            } else if (kind < 7) {
+                builder.append(TEXT_WHITESPACE.charAt(random.nextInt(TEXT_WHITESPACE.length())));
+            } else {
+                int[] range = RANGES[random.nextInt(RANGES.length)];
+                builder.appendCodePoint(range[0] + random.nextInt(range[1] - range[0] + 1));
+            }
+        }
+        return builder.toString();
+    }
+
+    public static String json(Random random, int maxDepth) {
+        StringBuilder builder = new StringBuilder();
+        appendJson(builder, random, maxDepth);
+        return builder.toString();
+    }
+
+    private static void appendJson(StringBuilder builder, Random random, int depth) {
+        int kind = random.nextInt(depth > 0 ? 7 : 5);
+        switch (kind) {
+            case 0 -> builder.append("null");
+            case 1 -> builder.append(random.nextBoolean());
+            case 2 -> builder.append(random.nextInt(2_000_001) - 1_000_000);
+            case 3, 4 -> appendJsonString(builder, text(random, 12));
+            case 5 -> {
+                builder.append('[');
+                int size = random.nextInt(5);
+                for (int i = 0; i < size; i++) {
+                    if (i > 0) builder.append(',');
+                    appendWhitespace(builder, random);
+                    appendJson(builder, random, depth - 1);
+                }
+                builder.append(']');
+            }
+            default -> {
+                builder.append('{');
+                int size = random.nextInt(5);
+                for (int i = 0; i < size; i++) {
+                    if (i > 0) builder.append(',');
+                    appendWhitespace(builder, random);
+                    // Distinct keys: duplicates would be collapsed differently by each parser
+                    appendJsonString(builder, key(random) + i);
+                    builder.append(':');
+                    appendWhitespace(builder, random);
+                    appendJson(builder, random, depth - 1);
+                }
+                builder.append('}');
+            }
+        }
+    }
+
+    private static String key(Random random) {
+        int length = 1 + random.nextInt(8);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(KEY_CHARS.charAt(random.nextInt(KEY_CHARS.length())));
+        }
+        return builder.toString();
+    }
+
+    private static void appendWhitespace(StringBuilder builder, Random random) {
+        if (random.nextInt(4) == 0) {
+            builder.append(JSON_WHITESPACE.charAt(random.nextInt(JSON_WHITESPACE.length())));
+        }
+    }
+
+    private static void appendJsonString(StringBuilder builder, String value) {
+        builder.append('"');
+        value.codePoints().forEach(c -> {
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", c));
+                    } else {
+                        builder.appendCodePoint(c);
+                    }
+                }
+            }
+        });
+        builder.append('"');
+    }
+}
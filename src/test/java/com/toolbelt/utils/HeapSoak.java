@@ -0,0 +1,155 @@
+package com.toolbelt.utils;
+
+import com.google.gson.GsonBuilder;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.CDPSession;
+import com.microsoft.playwright.Page;
+import com.toolbelt.instrumentation.ActionTimings;
+import com.toolbelt.instrumentation.CurrentTest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntConsumer;
+
+/**
+ * Repeats one operation on a page without reloading it and samples the JS heap after a forced
+ * garbage collection at regular intervals, through the Chrome DevTools Protocol (chromium only).
+ * A soak is flagged as a leak when the heap keeps growing: the growth fitted over the run exceeds
+ * -Dsoak.maxGrowthBytes and at least -Dsoak.monotonicRatio of the steps between samples go up.
+ * Every soak is written to target/heap-soak at the end of the run.
+ */
+public class HeapSoak {
+    public static final int ITERATIONS = Integer.getInteger("soak.iterations", 2000);
+    private static final int SAMPLES = Integer.getInteger("soak.samples", 20);
+    private static final int WARMUP_ITERATIONS = Integer.getInteger("soak.warmup", 50);
+    private static final long MAX_GROWTH_BYTES = Long.getLong("soak.maxGrowthBytes", 2L * 1024 * 1024);
+    private static final double MONOTONIC_RATIO = Double.parseDouble(System.getProperty("soak.monotonicRatio", "0.8"));
+
+    private static final Queue<Map<String, Object>> records = new ConcurrentLinkedQueue<>();
+
+    public static boolean isSupported(Page page) {
+        Browser browser = ActionTimings.unwrap(page).context().browser();
+        return browser != null && "chromium".equals(browser.browserType().name());
+    }
+
+    // Runs the operation ITERATIONS times (it gets the iteration number) and returns the leak verdict
+    public static Result run(String name, Page page, IntConsumer operation) {
+        Page target = ActionTimings.unwrap(page);
+        CDPSession session = target.context().newCDPSession(target);
+        try {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                operation.accept(i);
+            }
+            int interval = Math.max(1, ITERATIONS / SAMPLES);
+            List<long[]> samples = new ArrayList<>();
+            samples.add(new long[]{0, usedHeap(session)});
+            for (int i = 1; i <= ITERATIONS; i++) {
+                operation.accept(WARMUP_ITERATIONS + i);
+                if (i % interval == 0 || i == ITERATIONS) {
+                    samples.add(new long[]{i, usedHeap(session)});
+                }
+            }
+            Result result = new Result(name, samples);
+            records.add(result.toRecord(target));
+            return result;
+        } finally {
+            session.detach();
+        }
+    }
+
+    private static long usedHeap(CDPSession session) {
+        // A second collection picks up what finalizers of the first one released
+        session.send("HeapProfiler.collectGarbage");
+        session.send("HeapProfiler.collectGarbage");
+        return session.send("Runtime.getHeapUsage").get("usedSize").getAsLong();
+    }
+
+    public static class Result {
+        public final String name;
+        public final List<long[]> samples;
+        public final double slopeBytesPerIteration;
+        public final long growthBytes;
+        public final double increasingRatio;
+
+        Result(String name, List<long[]> samples) {
+            this.name = name;
+            this.samples = samples;
+            int n = samples.size();
+            double sumX = 0, sumY = 0, sumXX = 0, sumXY = 0;
+            int increasing = 0;
+            for (int i = 0; i < n; i++) {
+                double x = samples.get(i)[0], y = samples.get(i)[1];
+                sumX += x;
+                sumY += y;
+                sumXX += x * x;
+                sumXY += x * y;
+                if (i > 0 && samples.get(i)[1] > samples.get(i - 1)[1]) {
+                    increasing++;
+                }
+            }
+            this.slopeBytesPerIteration = n < 2 ? 0 : (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
+            this.growthBytes = Math.round(slopeBytesPerIteration * samples.get(n - 1)[0]);
+            this.increasingRatio = n < 2 ? 0 : (double) increasing / (n - 1);
+        }
+
+        public boolean isLeak() {
+            return growthBytes > MAX_GROWTH_BYTES && increasingRatio >= MONOTONIC_RATIO;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: heap grew %d bytes over %d iterations (%.1f bytes/iteration, %.0f%% of samples up)",
+                name, growthBytes, samples.get(samples.size() - 1)[0], slopeBytesPerIteration, increasingRatio * 100);
+        }
+
+        private Map<String, Object> toRecord(Page page) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("test", CurrentTest.get());
+            record.put("browser", page.context().browser().browserType().name());
+            record.put("operation", name);
+            record.put("path", page.url());
+            List<Map<String, Long>> points = new ArrayList<>();
+            for (long[] sample : samples) {
+                Map<String, Long> point = new LinkedHashMap<>();
+                point.put("iteration", sample[0]);
+                point.put("usedBytes", sample[1]);
+                points.add(point);
+            }
+            record.put("samples", points);
+            record.put("slopeBytesPerIteration", slopeBytesPerIteration);
+            record.put("growthBytes", growthBytes);
+            record.put("increasingRatio", increasingRatio);
+            record.put("leak", isLeak());
+            return record;
+        }
+    }
+
+    // Forgets what earlier runs recorded, for a runner that outlives one run (see TestDaemon)
+    public static void reset() {
+        records.clear();
+    }
+
+    public static void writeReport(Path dir) {
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            try (Writer writer = Files.newBufferedWriter(dir.resolve("heap-soak.json"), StandardCharsets.UTF_8)) {
+                new GsonBuilder().setPrettyPrinting().create().toJson(records, writer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write heap soak report to " + dir, e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.toolbelt.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * On-disk cache of generated inputs, one UTF-8 file per (generator, seed, size) under
+ * -Dinputs.cacheDir (default target/generated-inputs). A missing file is streamed straight to
+ * disk by its generator; existing files are read back through a memory mapping, so large inputs
+ * cost one decode instead of a regeneration. Files are written under a temporary name and moved
+ * into place, so parallel tests asking for the same input never see a partial file.
+ */
+public class InputCache {
+    private static final Path CACHE_DIR = Paths.get(System.getProperty("inputs.cacheDir", "target/generated-inputs"));
+
+    public interface Generator {
+        void generate(Random random, int size, OutputStream out) throws IOException;
+    }
+
+    public static String get(String generator, long seed, int size, Generator source) {
+        Path file = path(generator, seed, size, source);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return StandardCharsets.UTF_8.decode(mapped).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Generates the file if needed and returns it, for consumers that stream it themselves
+    public static Path path(String generator, long seed, int size, Generator source) {
+        Path file = CACHE_DIR.resolve(generator + "-" + seed + "-" + size + ".txt");
+        if (Files.exists(file)) {
+            return file;
+        }
+        try {
+            Files.createDirectories(CACHE_DIR);
+            Path temp = Files.createTempFile(CACHE_DIR, generator, ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+                source.generate(new Random(seed), size, out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
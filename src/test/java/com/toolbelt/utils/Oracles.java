@@ -0,0 +1,70 @@
+package com.toolbelt.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Java reference implementations of what each tool page computes, used as differential-fuzzing
+ * oracles. Each one reproduces the browser's exact output format, not just an equivalent value.
+ */
+public class Oracles {
+    private static final Gson PRETTY_JSON = new GsonBuilder()
+        .setPrettyPrinting()
+        .serializeNulls()
+        .disableHtmlEscaping()
+        .create();
+
+    // What a textarea's value holds after being set to input: CRLF and lone CR become LF
+    public static String textareaValue(String input) {
+        return input.replace("\r\n", "\n").replace('\r', '\n');
+    }
+
+    // Java algorithm name, lowercase hex of the UTF-8 bytes
+    public static String hash(String algorithm, String input) {
+        try {
+            byte[] digest = MessageDigest.getInstance(algorithm).digest(input.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(algorithm, e);
+        }
+    }
+
+    public static String base64(String input) {
+        return Base64.getEncoder().encodeToString(input.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // JavaScript's encodeURIComponent: URLEncoder plus the characters it treats differently
+    public static String encodeUriComponent(String input) {
+        return URLEncoder.encode(input, StandardCharsets.UTF_8)
+            .replace("+", "%20")
+            .replace("%21", "!")
+            .replace("%27", "'")
+            .replace("%28", "(")
+            .replace("%29", ")")
+            .replace("%7E", "~");
+    }
+
+    // JSON.stringify(JSON.parse(input), null, 2)
+    public static String prettyJson(String input) {
+        return PRETTY_JSON.toJson(JsonParser.parseString(input));
+    }
+
+    // Random (version 4, IETF variant) UUID in canonical form, either case
+    public static boolean isRandomUuid(String value) {
+        String trimmed = value.trim();
+        if (!trimmed.matches("(?i)[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}")) {
+            return false;
+        }
+        UUID uuid = UUID.fromString(trimmed);
+        return uuid.version() == 4 && uuid.variant() == 2;
+    }
+}
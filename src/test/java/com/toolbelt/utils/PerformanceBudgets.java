@@ -0,0 +1,236 @@
+package com.toolbelt.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.toolbelt.instrumentation.ActionTimings;
+import com.toolbelt.instrumentation.PageMetrics;
+import com.toolbelt.instrumentation.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Checks measured timings against the budgets in performance-budgets.json (or -Dbudgets.file) at
+ * the end of the run. A budget targets one of:
+ * <ul>
+ *   <li>a route metric recorded by {@link PageMetrics}, e.g. loadMs of /json-formatter</li>
+ *   <li>a page-object operation timed by {@link ActionTimings}, e.g. JsonFormatterPage.clickFormat</li>
+ *   <li>a named scenario timed in a test with {@link #measure}, or taken on the page clock and passed to
+ *   {@link #record}, e.g. formatting a 1 MB document</li>
+ * </ul>
+ * and may be limited to one browser. The result of every budget is written to
+ * target/perf-budgets at the end of the run, and PerformanceBudgetTest, run by its own surefire
+ * execution after the other tests, reports each budget as a test that fails on a breach. Route
+ * budgets are only enforced against a recorded site (replay or serve mode), since a live load
+ * depends on the network; nothing is enforced with -Dbudgets.enforce=false.
+ */
+public class PerformanceBudgets {
+    private static final boolean ENFORCE = Boolean.parseBoolean(System.getProperty("budgets.enforce", "true"));
+    private static final String BUDGETS_FILE = System.getProperty("budgets.file", "performance-budgets.json");
+    private static final double DEFAULT_PERCENTILE = 95;
+
+    private static final Map<List<String>, LatencyHistogram> scenarios = new ConcurrentHashMap<>();
+
+    private static class BudgetFile {
+        int version;
+        List<Budget> budgets = new ArrayList<>();
+    }
+
+    private static class Budget {
+        String route;
+        String metric = "loadMs";
+        String operation;
+        String scenario;
+        String browser;
+        Double percentile;
+        double max;
+
+        String describe() {
+            String target = route != null ? route + " " + metric : operation != null ? operation : "scenario " + scenario;
+            return target + " p" + formatPercentile(percentile());
+        }
+
+        double percentile() {
+            return percentile == null ? DEFAULT_PERCENTILE : percentile;
+        }
+    }
+
+    public static class Result {
+        String budget;
+        String source;
+        Double measuredMs;
+        double maxMs;
+        boolean enforced;
+
+        public String getBudget() {
+            return budget;
+        }
+
+        public boolean isMeasured() {
+            return measuredMs != null;
+        }
+
+        public boolean isBreached() {
+            return measuredMs != null && measuredMs > maxMs;
+        }
+
+        public boolean isEnforced() {
+            return enforced;
+        }
+
+        public String describe() {
+            if (measuredMs == null) {
+                return String.format("no data  %s: budget %.0f ms", budget, maxMs);
+            }
+            if (isBreached()) {
+                return String.format("BREACH   %s: %.1f ms > %.0f ms budget (+%.1f ms, +%.0f%%)%s (%s)",
+                    budget, measuredMs, maxMs, measuredMs - maxMs, (measuredMs / maxMs - 1) * 100, enforced ? "" : ", not enforced", source);
+            }
+            return String.format("ok       %s: %.1f ms <= %.0f ms budget (%.0f%% used)", budget, measuredMs, maxMs, measuredMs / maxMs * 100);
+        }
+    }
+
+    public static void measure(String scenario, Runnable action) {
+        measure(scenario, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static <T> T measure(String scenario, Supplier<T> action) {
+        long start = System.nanoTime();
+        T result = action.get();
+        scenarios.computeIfAbsent(List.of(BrowserFactory.browserName(), scenario), key -> new LatencyHistogram())
+            .recordMicros((System.nanoTime() - start) / 1_000);
+        return result;
+    }
+
+    // A duration taken on the page clock, e.g. with BasePage.measureEventUntilSettled
+    public static void record(String scenario, double millis) {
+        scenarios.computeIfAbsent(List.of(BrowserFactory.browserName(), scenario), key -> new LatencyHistogram())
+            .recordMicros(Math.round(millis * 1000));
+    }
+
+    // Forgets what earlier runs recorded, for a runner that outlives one run (see TestDaemon)
+    public static void reset() {
+        scenarios.clear();
+    }
+
+    // Checks every budget against this run and writes the verdicts; PerformanceBudgetTest turns them into tests
+    public static void check(Path reportDir) {
+        BudgetFile file = load();
+        List<Result> results = new ArrayList<>();
+        List<String> report = new ArrayList<>();
+
+        // A run covers one browser; budgets pinned to another browser are left to that browser's run
+        String browser = BrowserFactory.browserName();
+        for (Budget budget : file == null ? List.<Budget>of() : file.budgets) {
+            if (budget.browser != null && !budget.browser.equals(browser)) {
+                continue;
+            }
+            Result result = new Result();
+            result.budget = budget.describe() + " [" + browser + "]";
+            result.source = BUDGETS_FILE + " v" + file.version;
+            result.maxMs = budget.max;
+            result.measuredMs = measure(budget, browser);
+            // Route loads from the live site depend on the network and the runner, not just the app
+            result.enforced = ENFORCE && (budget.route == null || SiteSnapshot.isRecorded());
+            results.add(result);
+            report.add(result.describe());
+        }
+
+        try {
+            Files.createDirectories(reportDir);
+            Files.write(reportDir.resolve("budget-report.txt"), report, StandardCharsets.UTF_8);
+            try (Writer writer = Files.newBufferedWriter(reportDir.resolve(resultsFile()), StandardCharsets.UTF_8)) {
+                new GsonBuilder().setPrettyPrinting().create().toJson(results, writer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write budget report to " + reportDir, e);
+        }
+    }
+
+    // The verdicts the last run of this browser and shard wrote to reportDir; empty if it wrote none
+    public static List<Result> results(Path reportDir) {
+        Path path = reportDir.resolve(resultsFile());
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            List<Result> results = new Gson().fromJson(reader, new TypeToken<List<Result>>() { }.getType());
+            return results == null ? List.of() : results;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read budget results from " + path, e);
+        }
+    }
+
+    private static String resultsFile() {
+        String shard = System.getProperty("shard.index");
+        return "budget-results-" + BrowserFactory.browserName() + (shard == null ? "" : "-shard-" + shard) + ".json";
+    }
+
+    private static Double measure(Budget budget, String browser) {
+        if (budget.route != null) {
+            List<Double> values = new ArrayList<>();
+            for (Map<String, Object> record : PageMetrics.records()) {
+                Object value = record.get(budget.metric);
+                if (browser.equals(record.get("browser")) && budget.route.equals(record.get("path")) && value instanceof Number) {
+                    values.add(((Number) value).doubleValue());
+                }
+            }
+            return percentile(values, budget.percentile());
+        }
+        LatencyHistogram histogram = budget.operation != null
+            ? ActionTimings.histogram(browser, budget.operation)
+            : scenarios.get(List.of(browser, budget.scenario));
+        if (histogram == null || histogram.getCount() == 0) {
+            return null;
+        }
+        return histogram.percentileMicros(budget.percentile()) / 1000.0;
+    }
+
+    // Nearest-rank percentile
+    private static Double percentile(List<Double> values, double percentile) {
+        if (values.isEmpty()) {
+            return null;
+        }
+        Collections.sort(values);
+        int rank = (int) Math.ceil(percentile / 100 * values.size());
+        return values.get(Math.max(0, Math.min(values.size() - 1, rank - 1)));
+    }
+
+    private static BudgetFile load() {
+        Path path = Paths.get(BUDGETS_FILE);
+        try (InputStream in = Files.exists(path)
+                ? Files.newInputStream(path)
+                : PerformanceBudgets.class.getClassLoader().getResourceAsStream(BUDGETS_FILE)) {
+            if (in == null) {
+                return null;
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return new Gson().fromJson(reader, BudgetFile.class);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read performance budgets from " + BUDGETS_FILE, e);
+        }
+    }
+
+    private static String formatPercentile(double percentile) {
+        return percentile == Math.floor(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
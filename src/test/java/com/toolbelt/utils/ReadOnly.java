@@ -0,0 +1,15 @@
+package com.toolbelt.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test that inspects the initial state of its route without changing it, so it can run
+ * on a page shared with other read-only tests, see {@link SharedPages}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadOnly {
+}
@@ -0,0 +1,80 @@
+package com.toolbelt.utils;
+
+import com.toolbelt.instrumentation.MutationTracking;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Classifies tests by the driver calls their bodies make (clicks, fills, key presses,
+ * navigations and viewport changes count as changes; queries do not). A test on a shared page
+ * that changes it fails, since the tests after it would otherwise see its leftovers. Unmarked
+ * tests that made no changes are listed in target/read-only/candidates.txt as candidates for
+ * {@link ReadOnly}. The shared pages are closed once, when the root extension context is torn
+ * down at the end of the run.
+ */
+public class ReadOnlyExtension implements BeforeAllCallback, BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ReadOnlyExtension.class);
+
+    private static final Set<String> candidates = new ConcurrentSkipListSet<>();
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("readOnlyCandidates",
+            key -> (ExtensionContext.Store.CloseableResource) () -> writeCandidates(Paths.get("target", "read-only")));
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("sharedPages",
+            key -> (ExtensionContext.Store.CloseableResource) SharedPages::closeAll);
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        MutationTracking.clearMutations();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        List<String> mutations = MutationTracking.mutations();
+        boolean shared = SharedPages.isShared();
+        if (shared && !mutations.isEmpty()) {
+            SharedPages.discard();
+            throw new AssertionError("Read-only test changed its shared page: " + String.join(", ", mutations));
+        }
+        SharedPages.finish();
+
+        boolean marked = context.getTestMethod()
+            .map(method -> method.isAnnotationPresent(ReadOnly.class) || method.isAnnotationPresent(StaticContent.class))
+            .orElse(true);
+        if (!marked && mutations.isEmpty() && context.getExecutionException().isEmpty()) {
+            candidates.add(ShardExtension.testKey(context));
+        }
+    }
+
+    // Forgets what earlier runs recorded, for a runner that outlives one run (see TestDaemon)
+    public static void reset() {
+        candidates.clear();
+    }
+
+    private static void writeCandidates(Path dir) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("candidates.txt"), new TreeSet<>(candidates), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write read-only candidates to " + dir, e);
+        }
+    }
+}
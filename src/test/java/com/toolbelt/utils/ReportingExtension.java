@@ -0,0 +1,53 @@
+package com.toolbelt.utils;
+
+import com.toolbelt.instrumentation.ActionTimings;
+import com.toolbelt.instrumentation.PageMetrics;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Writes the run's performance reports under target/ once, when the root extension context is
+ * torn down at the end of the run. They are written in the order listed in {@link #writeReports},
+ * each one even if an earlier one failed, ending with the performance budget verdicts that
+ * PerformanceBudgetTest reports.
+ */
+public class ReportingExtension implements BeforeAllCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ReportingExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("reports",
+            key -> (ExtensionContext.Store.CloseableResource) ReportingExtension::writeReports);
+    }
+
+    static void writeReports() throws Throwable {
+        Path target = Paths.get("target");
+        List<Runnable> reports = List.of(
+            () -> ActionTimings.writeReport(target.resolve("timings")),
+            () -> PageMetrics.writeReport(target.resolve("perf-metrics")),
+            () -> ScalingCurve.writeReport(target.resolve("scaling")),
+            () -> HeapSoak.writeReport(target.resolve("heap-soak")),
+            () -> ResourceBlocking.writeReport(target.resolve("resource-blocking")),
+            () -> PerformanceBudgets.check(target.resolve("perf-budgets")));
+
+        Throwable failure = null;
+        for (Runnable report : reports) {
+            try {
+                report.run();
+            } catch (RuntimeException | AssertionError e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
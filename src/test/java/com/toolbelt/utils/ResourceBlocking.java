@@ -0,0 +1,335 @@
+package com.toolbelt.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drops requests that no page-object assertion depends on - analytics, ads, web fonts and images
+ * by default - through a context route, so functional tests do not wait for them. The profile is
+ * read from resource-blocking.json (or -Dblocking.file):
+ * <ul>
+ *   <li>{@code block} - the categories to drop</li>
+ *   <li>{@code hosts} - the hosts (and their subdomains) that make up a category; fonts and images
+ *   are also recognised by resource type</li>
+ *   <li>{@code allow} - per route path ({@code *} for every route), categories or URL fragments
+ *   that are let through anyway</li>
+ * </ul>
+ * Tests marked {@link Visual} load everything, as does the whole run with -Dblocking=false (the
+ * default while recording a site snapshot). Blocked requests are written to
+ * target/resource-blocking at the end of the run. The bytes saved are estimated from the size of
+ * each URL in the site snapshot when replaying or serving one, and otherwise from its size the last
+ * time it was let through: in an earlier run from the same checkout, kept in
+ * target/resource-blocking/sizes.json (or -Dblocking.sizesFile), or in the committed
+ * src/test/resources/resource-sizes.json (or -Dblocking.seedFile). The committed file is only
+ * rewritten on request, by a run such as {@code mvn test -Dblocking=false -Dblocking.updateSizes=true}.
+ * First-party URLs are sized by path, so sizes seen on toolbelt.site also apply to the local
+ * snapshot server.
+ */
+public class ResourceBlocking {
+    public static final boolean ENABLED = Boolean.parseBoolean(
+        System.getProperty("blocking", String.valueOf(!"record".equals(SiteSnapshot.mode()))));
+    private static final String PROFILE_FILE = System.getProperty("blocking.file", "resource-blocking.json");
+    private static final Path SIZES_FILE = Paths.get(System.getProperty("blocking.sizesFile", "target/resource-blocking/sizes.json"));
+    private static final Path SEED_FILE = Paths.get(System.getProperty("blocking.seedFile", "src/test/resources/resource-sizes.json"));
+    private static final boolean UPDATE_SEED = Boolean.getBoolean("blocking.updateSizes");
+    private static final String ALL_ROUTES = "*";
+
+    private static final Profile PROFILE = loadProfile();
+    // Size key (see sizeKey) -> response body bytes
+    private static final Map<String, Long> knownSizes = loadSizes();
+    private static volatile boolean sizesLearnt;
+    // (browser, category, url) -> times blocked
+    private static final Map<List<String>, AtomicInteger> blocked = new ConcurrentHashMap<>();
+    // Contexts whose current page was loaded with something missing
+    private static final Set<BrowserContext> degraded = ConcurrentHashMap.newKeySet();
+    private static final ThreadLocal<Boolean> fullFidelity = ThreadLocal.withInitial(() -> false);
+
+    private static class Profile {
+        int version;
+        List<String> block = new ArrayList<>();
+        Map<String, List<String>> hosts = new LinkedHashMap<>();
+        Map<String, List<String>> allow = new LinkedHashMap<>();
+    }
+
+    public static void apply(BrowserContext context) {
+        String browser = context.browser().browserType().name();
+        // Sizes are learnt whenever a blockable resource loads, so runs with blocking off give the baseline
+        context.onRequestFinished(ResourceBlocking::learnSize);
+        if (!ENABLED) {
+            return;
+        }
+        // Registered after SiteSnapshot.apply(), so it sees requests first and falls back to the snapshot routes
+        context.route("**/*", route -> {
+            Request request = route.request();
+            String category = fullFidelity.get() ? null : blockedCategory(request);
+            if (category == null) {
+                route.fallback();
+                return;
+            }
+            blocked.computeIfAbsent(List.of(browser, category, request.url()), key -> new AtomicInteger()).incrementAndGet();
+            degraded.add(context);
+            route.abort("blockedbyclient");
+        });
+    }
+
+    // Called by BrowserExtension around each test; a visual test loads its page with nothing blocked
+    public static void setFullFidelity(boolean enabled) {
+        if (enabled) {
+            fullFidelity.set(true);
+        } else {
+            fullFidelity.remove();
+        }
+    }
+
+    // A visual test must not inherit a page that was loaded with resources missing
+    public static void prepare(BrowserContext context) {
+        if (fullFidelity.get() && degraded.remove(context) && !context.pages().isEmpty()) {
+            context.pages().get(0).navigate("about:blank");
+        }
+    }
+
+    public static void forget(BrowserContext context) {
+        degraded.remove(context);
+    }
+
+    static String blockedCategory(Request request) {
+        String category = category(request);
+        if (category == null || !PROFILE.block.contains(category)) {
+            return null;
+        }
+        String url = request.url();
+        String route = routeOf(request);
+        for (String key : new String[] {route, ALL_ROUTES}) {
+            for (String allowed : PROFILE.allow.getOrDefault(key, Collections.emptyList())) {
+                if (allowed.equals(category) || url.contains(allowed)) {
+                    return null;
+                }
+            }
+        }
+        return category;
+    }
+
+    static String category(Request request) {
+        String host = host(request.url());
+        for (Map.Entry<String, List<String>> entry : PROFILE.hosts.entrySet()) {
+            for (String suffix : entry.getValue()) {
+                if (host.equals(suffix) || host.endsWith("." + suffix)) {
+                    return entry.getKey();
+                }
+            }
+        }
+        switch (request.resourceType()) {
+            case "font":
+                return "fonts";
+            case "image":
+                return "images";
+            default:
+                return null;
+        }
+    }
+
+    private static String routeOf(Request request) {
+        try {
+            return path(request.frame().url());
+        } catch (PlaywrightException e) {
+            // Service worker requests have no frame
+            return "";
+        }
+    }
+
+    private static void learnSize(Request request) {
+        if (category(request) == null) {
+            return;
+        }
+        try {
+            int size = request.sizes().responseBodySize;
+            // Zero for responses served from the memory cache
+            if (size > 0 && !Long.valueOf(size).equals(knownSizes.put(sizeKey(request.url()), (long) size))) {
+                sizesLearnt = true;
+            }
+        } catch (PlaywrightException e) {
+            // The page went away before the sizes could be read
+        }
+    }
+
+    // Path and query for first-party URLs, which differ only in origin between the live site and the snapshot server;
+    // the whole URL for everything else
+    static String sizeKey(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (!SiteSnapshot.isFirstParty(uri)) {
+                return url;
+            }
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            return uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    private static String host(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? "" : host.toLowerCase();
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    private static String path(String url) {
+        try {
+            String path = URI.create(url).getPath();
+            return path == null || path.isEmpty() ? "/" : path;
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    // Forgets what earlier runs recorded, for a runner that outlives one run (see TestDaemon)
+    public static void reset() {
+        blocked.clear();
+    }
+
+    public static void writeReport(Path dir) {
+        try {
+            // Only rewritten when a run let something through whose size was not already known
+            if (sizesLearnt) {
+                writeSizes(SIZES_FILE);
+                sizesLearnt = false;
+            }
+            if (UPDATE_SEED) {
+                writeSizes(SEED_FILE);
+            }
+            if (blocked.isEmpty()) {
+                return;
+            }
+
+            Map<String, List<Map.Entry<List<String>, AtomicInteger>>> byBrowser = new LinkedHashMap<>();
+            for (Map.Entry<List<String>, AtomicInteger> entry : blocked.entrySet()) {
+                byBrowser.computeIfAbsent(entry.getKey().get(0), key -> new ArrayList<>()).add(entry);
+            }
+            String shard = System.getProperty("shard.index");
+            Files.createDirectories(dir);
+            for (Map.Entry<String, List<Map.Entry<List<String>, AtomicInteger>>> browser : byBrowser.entrySet()) {
+                String name = "blocked-" + browser.getKey() + (shard == null ? "" : "-shard-" + shard) + ".json";
+                try (Writer writer = Files.newBufferedWriter(dir.resolve(name), StandardCharsets.UTF_8)) {
+                    new GsonBuilder().setPrettyPrinting().create().toJson(summarize(browser.getKey(), browser.getValue()), writer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write resource blocking report to " + dir, e);
+        }
+    }
+
+    private static Map<String, Object> summarize(String browser, List<Map.Entry<List<String>, AtomicInteger>> entries) {
+        Map<String, Map<String, Long>> categories = new LinkedHashMap<>();
+        List<Map<String, Object>> urls = new ArrayList<>();
+        long requests = 0;
+        long bytesSaved = 0;
+        long unsized = 0;
+
+        for (Map.Entry<List<String>, AtomicInteger> entry : entries) {
+            String category = entry.getKey().get(1);
+            String url = entry.getKey().get(2);
+            int count = entry.getValue().get();
+            Long size = knownSizes.get(sizeKey(url));
+            long saved = size == null ? 0 : size * count;
+
+            Map<String, Long> totals = categories.computeIfAbsent(category, key -> new LinkedHashMap<>());
+            totals.merge("requests", (long) count, Long::sum);
+            totals.merge("bytesSaved", saved, Long::sum);
+            requests += count;
+            bytesSaved += saved;
+            if (size == null) {
+                unsized += count;
+            }
+
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("url", url);
+            record.put("category", category);
+            record.put("count", count);
+            record.put("bytes", size);
+            urls.add(record);
+        }
+        urls.sort((a, b) -> Integer.compare((Integer) b.get("count"), (Integer) a.get("count")));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("browser", browser);
+        summary.put("profile", PROFILE_FILE + " v" + PROFILE.version);
+        summary.put("requests", requests);
+        summary.put("bytesSaved", bytesSaved);
+        // Not in the snapshot and never seen unblocked, run once with -Dblocking=false to size them
+        summary.put("unsizedRequests", unsized);
+        summary.put("categories", categories);
+        summary.put("urls", urls);
+        return summary;
+    }
+
+    private static Profile loadProfile() {
+        Path path = Paths.get(PROFILE_FILE);
+        try (InputStream in = Files.exists(path)
+                ? Files.newInputStream(path)
+                : ResourceBlocking.class.getClassLoader().getResourceAsStream(PROFILE_FILE)) {
+            if (in == null) {
+                throw new IllegalStateException("No resource blocking profile " + PROFILE_FILE);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return new Gson().fromJson(reader, Profile.class);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read resource blocking profile " + PROFILE_FILE, e);
+        }
+    }
+
+    private static void writeSizes(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(new TreeMap<>(knownSizes), writer);
+        }
+    }
+
+    private static Map<String, Long> loadSizes() {
+        Map<String, Long> sizes = new ConcurrentHashMap<>();
+        // Later sources win: the committed seed, then what this checkout learnt since
+        for (Path file : List.of(SEED_FILE, SIZES_FILE)) {
+            if (Files.exists(file)) {
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    Map<String, Long> saved = new Gson().fromJson(reader, new TypeToken<Map<String, Long>>() { }.getType());
+                    if (saved != null) {
+                        sizes.putAll(saved);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read resource sizes from " + file, e);
+                }
+            }
+        }
+        // What the snapshot serves is what would have loaded, so it wins over sizes seen live
+        SiteSnapshot.recordedSizes().forEach((url, size) -> sizes.put(sizeKey(url), size));
+        return sizes;
+    }
+}
@@ -0,0 +1,157 @@
+package com.toolbelt.utils;
+
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Latency of one tool operation over geometrically growing input sizes. The curve is summarised by
+ * a power-law fit (time = a * size^b, least squares on log-log) and by the local exponent between
+ * neighbouring sizes; the operation goes superlinear at the first size whose local exponent
+ * exceeds -Dscaling.superlinearExponent (default 1.2). Sizes are in characters (UTF-16 code units,
+ * as SyntheticInputs counts them), not bytes: multi-byte text is up to 3x larger in UTF-8.
+ */
+public class ScalingCurve {
+    public static final double SUPERLINEAR_EXPONENT = Double.parseDouble(System.getProperty("scaling.superlinearExponent", "1.2"));
+
+    private static final Queue<ScalingCurve> curves = new ConcurrentLinkedQueue<>();
+
+    private final String tool;
+    private final String browser;
+    private final List<Integer> sizes = new ArrayList<>();
+    private final List<Double> medians = new ArrayList<>();
+    private final List<List<Double>> samples = new ArrayList<>();
+    private Integer failedAtChars;
+    private String failure;
+
+    public ScalingCurve(String tool, String browser) {
+        this.tool = tool;
+        this.browser = browser;
+        curves.add(this);
+    }
+
+    public void add(int size, List<Double> sampleMs) {
+        List<Double> sorted = new ArrayList<>(sampleMs);
+        Collections.sort(sorted);
+        sizes.add(size);
+        medians.add(sorted.get(sorted.size() / 2));
+        samples.add(sampleMs);
+    }
+
+    public void fail(int size, String reason) {
+        failedAtChars = size;
+        failure = reason;
+    }
+
+    // Exponent between each size and the next; sub-millisecond timings are clamped so noise near zero does not dominate
+    public List<Double> localExponents() {
+        List<Double> exponents = new ArrayList<>();
+        for (int i = 1; i < sizes.size(); i++) {
+            double ratio = Math.max(medians.get(i), 1) / Math.max(medians.get(i - 1), 1);
+            exponents.add(Math.log(ratio) / Math.log((double) sizes.get(i) / sizes.get(i - 1)));
+        }
+        return exponents;
+    }
+
+    public Integer superlinearFromChars() {
+        List<Double> exponents = localExponents();
+        for (int i = 0; i < exponents.size(); i++) {
+            if (exponents.get(i) > SUPERLINEAR_EXPONENT) {
+                return sizes.get(i + 1);
+            }
+        }
+        return null;
+    }
+
+    // Least squares fit of log(time) = log(a) + b * log(size): {a, b, r squared}
+    public double[] fit() {
+        int n = sizes.size();
+        if (n < 2) {
+            return null;
+        }
+        double sumX = 0, sumY = 0, sumXX = 0, sumXY = 0;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = Math.log(sizes.get(i));
+            y[i] = Math.log(Math.max(medians.get(i), 1));
+            sumX += x[i];
+            sumY += y[i];
+            sumXX += x[i] * x[i];
+            sumXY += x[i] * y[i];
+        }
+        double slope = (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
+        double intercept = (sumY - slope * sumX) / n;
+        double meanY = sumY / n, total = 0, residual = 0;
+        for (int i = 0; i < n; i++) {
+            total += (y[i] - meanY) * (y[i] - meanY);
+            double error = y[i] - (intercept + slope * x[i]);
+            residual += error * error;
+        }
+        return new double[]{Math.exp(intercept), slope, total == 0 ? 1 : 1 - residual / total};
+    }
+
+    private Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("tool", tool);
+        report.put("browser", browser);
+        List<Map<String, Object>> points = new ArrayList<>();
+        for (int i = 0; i < sizes.size(); i++) {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("chars", sizes.get(i));
+            point.put("medianMs", medians.get(i));
+            point.put("samplesMs", samples.get(i));
+            points.add(point);
+        }
+        report.put("points", points);
+        double[] fit = fit();
+        if (fit != null) {
+            report.put("fitCoefficientMs", fit[0]);
+            report.put("fitExponent", fit[1]);
+            report.put("fitRSquared", fit[2]);
+        }
+        report.put("localExponents", localExponents());
+        report.put("superlinearFromChars", superlinearFromChars());
+        report.put("failedAtChars", failedAtChars);
+        report.put("failure", failure);
+        return report;
+    }
+
+    // Forgets what earlier runs recorded, for a runner that outlives one run (see TestDaemon)
+    public static void reset() {
+        curves.clear();
+    }
+
+    public static void writeReport(Path dir) {
+        if (curves.isEmpty()) {
+            return;
+        }
+        Map<String, List<Map<String, Object>>> byBrowser = new LinkedHashMap<>();
+        for (ScalingCurve curve : curves) {
+            byBrowser.computeIfAbsent(curve.browser, key -> new ArrayList<>()).add(curve.toReport());
+        }
+        try {
+            Files.createDirectories(dir);
+            for (Map.Entry<String, List<Map<String, Object>>> entry : byBrowser.entrySet()) {
+                entry.getValue().sort((a, b) -> ((String) a.get("tool")).compareTo((String) b.get("tool")));
+                try (Writer writer = Files.newBufferedWriter(dir.resolve("scaling-" + entry.getKey() + ".json"), StandardCharsets.UTF_8)) {
+                    new GsonBuilder().setPrettyPrinting().serializeNulls().create().toJson(entry.getValue(), writer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write scaling report to " + dir, e);
+        }
+    }
+}
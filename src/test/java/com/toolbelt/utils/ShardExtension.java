@@ -0,0 +1,114 @@
+package com.toolbelt.utils;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs only this shard's share of the tests when -Dshard.index (1-based) and -Dshard.count are
+ * set. Tests with a recorded duration are spread over the shards longest first, each going to
+ * the shard with the least total time so far; tests without history are assigned by hash. Each
+ * invocation of a parameterized test is placed on its own.
+ * Every run records test durations, fixtures included, into {@link TestDurations}.
+ */
+public class ShardExtension implements ExecutionCondition, BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ShardExtension.class);
+    private static final int SHARD_INDEX = Integer.getInteger("shard.index", 1);
+    private static final int SHARD_COUNT = Integer.getInteger("shard.count", 1);
+    private static final String START = "start";
+    private static final String TEMPLATE_SEGMENT = "[test-template:";
+    private static final String INVOCATION_SEGMENT = "[test-template-invocation:#";
+
+    private static final Map<String, Long> measured = new ConcurrentHashMap<>();
+    private static Map<String, Integer> plan;
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (SHARD_COUNT <= 1 || context.getTestMethod().isEmpty()) {
+            return ConditionEvaluationResult.enabled("Sharding disabled");
+        }
+        if (isTemplate(context)) {
+            // Parameterized and repeated tests are sharded per invocation
+            return ConditionEvaluationResult.enabled("Sharded per invocation");
+        }
+        int shard = shardOf(testKey(context));
+        if (shard == SHARD_INDEX - 1) {
+            return ConditionEvaluationResult.enabled("In shard " + SHARD_INDEX + "/" + SHARD_COUNT);
+        }
+        return ConditionEvaluationResult.disabled("In shard " + (shard + 1) + "/" + SHARD_COUNT);
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent("durations",
+            key -> (ExtensionContext.Store.CloseableResource) () -> TestDurations.update(measured));
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(START, System.nanoTime());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Long start = context.getStore(NAMESPACE).remove(START, Long.class);
+        if (start != null) {
+            measured.put(testKey(context), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    // Forgets what earlier runs recorded, for a runner that outlives one run (see TestDaemon)
+    public static void reset() {
+        measured.clear();
+    }
+
+    static String testKey(ExtensionContext context) {
+        String key = context.getRequiredTestClass().getName() + "#" + context.getRequiredTestMethod().getName();
+        String id = context.getUniqueId();
+        int invocation = id.lastIndexOf(INVOCATION_SEGMENT);
+        if (invocation >= 0) {
+            key += "[" + id.substring(invocation + INVOCATION_SEGMENT.length(), id.indexOf(']', invocation)) + "]";
+        }
+        return key;
+    }
+
+    private static boolean isTemplate(ExtensionContext context) {
+        return context.getUniqueId().substring(context.getUniqueId().lastIndexOf('/') + 1).startsWith(TEMPLATE_SEGMENT);
+    }
+
+    private static synchronized int shardOf(String test) {
+        if (plan == null) {
+            plan = plan(TestDurations.load(), SHARD_COUNT);
+        }
+        Integer shard = plan.get(test);
+        return shard != null ? shard : Math.floorMod(test.hashCode(), SHARD_COUNT);
+    }
+
+    static Map<String, Integer> plan(Map<String, Double> durations, int shardCount) {
+        List<Map.Entry<String, Double>> tests = new ArrayList<>(durations.entrySet());
+        tests.sort(Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        double[] loads = new double[shardCount];
+        Map<String, Integer> assignment = new HashMap<>();
+        for (Map.Entry<String, Double> test : tests) {
+            int lightest = 0;
+            for (int shard = 1; shard < shardCount; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += test.getValue();
+            assignment.put(test.getKey(), lightest);
+        }
+        return assignment;
+    }
+}
@@ -0,0 +1,91 @@
+package com.toolbelt.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.toolbelt.instrumentation.ActionTimings;
+import com.toolbelt.pages.BasePage;
+import org.junit.jupiter.api.TestInfo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Loaded pages shared by the read-only tests of a route: {@link ReadOnly} tests, and
+ * {@link StaticContent} tests when DOM snapshots are disabled. A shared page is navigated and
+ * settled once and then handed to every such test instead of a fresh context and navigation.
+ * Playwright objects cannot cross threads, so each test worker keeps its own shared page per
+ * route and browser; read-only tests on different workers still run concurrently. A read-only
+ * test that changes its page fails in {@link ReadOnlyExtension} and the page is discarded; the
+ * rest are closed by {@link #closeAll()} at the end of the run. Disable with -DsharedPages=false.
+ */
+public class SharedPages {
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("sharedPages", "true"));
+
+    private static final ThreadLocal<Map<String, Page>> pages = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<String> current = new ThreadLocal<>();
+    private static final List<Page> allPages = new ArrayList<>();
+
+    public static boolean applies(TestInfo testInfo) {
+        return ENABLED && testInfo.getTestMethod()
+            .map(method -> method.isAnnotationPresent(ReadOnly.class) || method.isAnnotationPresent(StaticContent.class))
+            .orElse(false);
+    }
+
+    public static Page get(Browser browser, String route, Function<Page, ? extends BasePage> pageObject) {
+        String key = browser.browserType().name() + " " + route;
+        Page page = pages.get().get(key);
+        if (page == null || page.isClosed() || !browser.isConnected()) {
+            BrowserContext context = ContextPool.acquire(browser);
+            page = ActionTimings.instrument(context.pages().get(0));
+            BasePage.open(page, route);
+            pageObject.apply(page).waitForSettled();
+            pages.get().put(key, page);
+            synchronized (allPages) {
+                allPages.add(page);
+            }
+        }
+        current.set(key);
+        return page;
+    }
+
+    // Whether the running test was handed a shared page
+    public static boolean isShared() {
+        return current.get() != null;
+    }
+
+    public static void finish() {
+        current.remove();
+    }
+
+    // Gives the current test's shared page back to the context pool, so the next read-only test loads it afresh
+    public static void discard() {
+        String key = current.get();
+        Page page = key == null ? null : pages.get().remove(key);
+        current.remove();
+        if (page != null) {
+            synchronized (allPages) {
+                allPages.remove(page);
+            }
+            if (!page.isClosed()) {
+                ContextPool.release(page.context());
+            }
+        }
+    }
+
+    // Closes every worker's shared pages together with their contexts, after the last read-only test. Like
+    // BrowserPool.closeAll() it runs on whichever thread ends the run, so the contexts are closed rather than reset
+    public static void closeAll() {
+        List<Page> closing;
+        synchronized (allPages) {
+            closing = new ArrayList<>(allPages);
+            allPages.clear();
+        }
+        for (Page page : closing) {
+            ContextPool.close(page.context());
+        }
+    }
+}
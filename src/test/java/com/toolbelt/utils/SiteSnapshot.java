@@ -0,0 +1,204 @@
+package com.toolbelt.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.HarMode;
+import com.microsoft.playwright.options.HarNotFound;
+import com.microsoft.playwright.options.RouteFromHarUpdateContentPolicy;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides where tests load toolbelt.site from, selected with -Dsite.mode:
+ * <ul>
+ *   <li>{@code live} (default) - the real site</li>
+ *   <li>{@code record} - the real site, saving every response into the snapshot</li>
+ *   <li>{@code replay} - the snapshot, served through context routes with no network access</li>
+ *   <li>{@code serve} - the snapshot, served by a local {@link SnapshotServer}</li>
+ * </ul>
+ * Snapshots live in {@code src/test/resources/snapshots/<version>}, where the version is
+ * chosen with -Dsite.snapshot.
+ */
+public class SiteSnapshot {
+    public static final String LIVE_URL = "https://toolbelt.site";
+    private static final String MODE = System.getProperty("site.mode", "live").toLowerCase();
+    private static final String VERSION = System.getProperty("site.snapshot", "v1");
+    private static final Path DIR = Paths.get(System.getProperty("site.snapshotDir", "src/test/resources/snapshots"), VERSION);
+    private static final String HAR_FILE = "toolbelt.har";
+    private static final String RECORDING_PREFIX = "recording-";
+
+    private static final AtomicInteger recordings = new AtomicInteger();
+    private static SnapshotServer server;
+
+    public static String mode() {
+        return MODE;
+    }
+
+    public static String version() {
+        return VERSION;
+    }
+
+    // Whether pages are served from the snapshot (replay or serve mode) rather than the live site
+    public static boolean isRecorded() {
+        return "replay".equals(MODE) || "serve".equals(MODE);
+    }
+
+    public static synchronized String baseUrl() {
+        if ("serve".equals(MODE)) {
+            if (server == null) {
+                server = SnapshotServer.start(harFile(), LIVE_URL);
+            }
+            return server.url();
+        }
+        return System.getProperty("baseUrl", LIVE_URL);
+    }
+
+    // Whether the URL is the site's own, on the live site or on the local snapshot server, rather than a third party's
+    public static synchronized boolean isFirstParty(URI uri) {
+        String origin = uri.getScheme() + "://" + uri.getRawAuthority();
+        return origin.equalsIgnoreCase(LIVE_URL) || origin.equalsIgnoreCase(System.getProperty("baseUrl", LIVE_URL))
+            || server != null && origin.equals(server.url());
+    }
+
+    public static void apply(BrowserContext context) {
+        switch (MODE) {
+            case "record":
+                createSnapshotDir();
+                context.routeFromHAR(DIR.resolve(RECORDING_PREFIX + recordings.incrementAndGet() + ".har"),
+                    new BrowserContext.RouteFromHAROptions()
+                        .setUpdate(true)
+                        .setUpdateContent(RouteFromHarUpdateContentPolicy.ATTACH)
+                        .setUpdateMode(HarMode.MINIMAL));
+                break;
+            case "replay":
+                context.routeFromHAR(harFile(), new BrowserContext.RouteFromHAROptions().setNotFound(HarNotFound.ABORT));
+                break;
+            case "serve":
+                // The page itself comes from the local server, recorded third-party assets from the HAR
+                context.routeFromHAR(harFile(), new BrowserContext.RouteFromHAROptions().setNotFound(HarNotFound.FALLBACK));
+                break;
+            case "live":
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown site.mode: " + MODE);
+        }
+    }
+
+    public static synchronized void finish() {
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+        if ("record".equals(MODE)) {
+            mergeRecordings();
+        }
+    }
+
+    private static void createSnapshotDir() {
+        try {
+            Files.createDirectories(DIR);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create snapshot directory " + DIR, e);
+        }
+    }
+
+    private static Path harFile() {
+        Path har = DIR.resolve(HAR_FILE);
+        if (!Files.exists(har)) {
+            throw new IllegalStateException("No site snapshot at " + har + ", record one with -Dsite.mode=record");
+        }
+        return har;
+    }
+
+    // Body size of every response in the snapshot by URL, for the modes that serve from it
+    public static Map<String, Long> recordedSizes() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        if (!isRecorded()) {
+            return sizes;
+        }
+        Path har = harFile();
+        try (Reader reader = Files.newBufferedReader(har, StandardCharsets.UTF_8)) {
+            JsonObject log = JsonParser.parseReader(reader).getAsJsonObject().getAsJsonObject("log");
+            for (JsonElement element : log.getAsJsonArray("entries")) {
+                JsonObject entry = element.getAsJsonObject();
+                JsonObject response = entry.getAsJsonObject("response");
+                long size = response.getAsJsonObject("content").get("size").getAsLong();
+                if (size <= 0 && response.has("bodySize")) {
+                    size = response.get("bodySize").getAsLong();
+                }
+                if (size > 0) {
+                    sizes.put(entry.getAsJsonObject("request").get("url").getAsString(), size);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read site snapshot " + har, e);
+        }
+        return sizes;
+    }
+
+    // Every recording context writes its own HAR on close; fold them into one snapshot file
+    private static void mergeRecordings() {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        Map<String, JsonElement> entries = new LinkedHashMap<>();
+        List<Path> recorded = new ArrayList<>();
+        JsonObject merged = null;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(DIR, RECORDING_PREFIX + "*.har")) {
+            for (Path file : files) {
+                recorded.add(file);
+            }
+            recorded.sort(null);
+            for (Path file : recorded) {
+                JsonObject har;
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    har = JsonParser.parseReader(reader).getAsJsonObject();
+                }
+                for (JsonElement entry : har.getAsJsonObject("log").getAsJsonArray("entries")) {
+                    JsonObject request = entry.getAsJsonObject().getAsJsonObject("request");
+                    entries.put(request.get("method").getAsString() + " " + request.get("url").getAsString(), entry);
+                }
+                if (merged == null) {
+                    merged = har;
+                }
+            }
+            if (merged == null) {
+                return;
+            }
+
+            JsonArray mergedEntries = new JsonArray();
+            entries.values().forEach(mergedEntries::add);
+            merged.getAsJsonObject("log").add("entries", mergedEntries);
+            try (Writer writer = Files.newBufferedWriter(DIR.resolve(HAR_FILE), StandardCharsets.UTF_8)) {
+                gson.toJson(merged, writer);
+            }
+            Files.writeString(DIR.resolve("snapshot.properties"),
+                "version=" + VERSION + "\nsource=" + LIVE_URL + "\nrecordedAt=" + Instant.now()
+                    + "\nbrowser=" + BrowserFactory.browserName() + "\nentries=" + entries.size() + "\n");
+            for (Path file : recorded) {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write site snapshot " + DIR, e);
+        }
+    }
+}
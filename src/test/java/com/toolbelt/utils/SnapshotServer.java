@@ -0,0 +1,141 @@
+package com.toolbelt.utils;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the GET responses of a recorded HAR from a local HTTP server. Attached response
+ * bodies are streamed from disk with {@link FileChannel#transferTo} instead of being
+ * loaded onto the heap.
+ */
+public class SnapshotServer {
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-length", "content-encoding", "transfer-encoding", "connection");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Path dir;
+    private final String origin;
+    private final Map<String, JsonObject> responses = new HashMap<>();
+
+    private SnapshotServer(Path har, String origin) throws IOException {
+        this.dir = har.getParent();
+        this.origin = origin;
+        index(har);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public static SnapshotServer start(Path har, String origin) {
+        try {
+            SnapshotServer snapshotServer = new SnapshotServer(har, origin);
+            snapshotServer.server.start();
+            return snapshotServer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start snapshot server for " + har, e);
+        }
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void index(Path har) throws IOException {
+        try (Reader reader = Files.newBufferedReader(har, StandardCharsets.UTF_8)) {
+            JsonObject log = JsonParser.parseReader(reader).getAsJsonObject().getAsJsonObject("log");
+            for (JsonElement element : log.getAsJsonArray("entries")) {
+                JsonObject entry = element.getAsJsonObject();
+                JsonObject request = entry.getAsJsonObject("request");
+                String url = request.get("url").getAsString();
+                if ("GET".equals(request.get("method").getAsString()) && url.startsWith(origin)) {
+                    responses.put(pathAndQuery(URI.create(url)), entry.getAsJsonObject("response"));
+                }
+            }
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            JsonObject response = responses.get(pathAndQuery(exchange.getRequestURI()));
+            if (response == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            for (JsonElement element : response.getAsJsonArray("headers")) {
+                JsonObject header = element.getAsJsonObject();
+                String name = header.get("name").getAsString();
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                    exchange.getResponseHeaders().add(name, header.get("value").getAsString().replace(origin, url()));
+                }
+            }
+
+            int status = response.get("status").getAsInt();
+            JsonObject content = response.getAsJsonObject("content");
+            if (content.has("_file")) {
+                try (FileChannel body = FileChannel.open(dir.resolve(content.get("_file").getAsString()), StandardOpenOption.READ)) {
+                    long size = body.size();
+                    exchange.sendResponseHeaders(status, size == 0 ? -1 : size);
+                    try (OutputStream out = exchange.getResponseBody(); WritableByteChannel channel = Channels.newChannel(out)) {
+                        long position = 0;
+                        while (position < size) {
+                            position += body.transferTo(position, size - position, channel);
+                        }
+                    }
+                }
+            } else {
+                byte[] body = inlineBody(content);
+                exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+                if (body.length > 0) {
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                }
+            }
+        }
+    }
+
+    private static byte[] inlineBody(JsonObject content) {
+        if (!content.has("text")) {
+            return new byte[0];
+        }
+        String text = content.get("text").getAsString();
+        if (content.has("encoding") && "base64".equals(content.get("encoding").getAsString())) {
+            return Base64.getDecoder().decode(text);
+        }
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String pathAndQuery(URI uri) {
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        return uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+    }
+}
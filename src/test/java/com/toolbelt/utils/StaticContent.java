@@ -0,0 +1,19 @@
+package com.toolbelt.utils;
+
+import org.junit.jupiter.api.Tag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test that only reads the initial render of its route through page-object queries,
+ * so it can run against a cached {@link DomSnapshots} capture instead of its own page. Tagged
+ * static-content, so CI can also run these tests against real pages with -Ddom.snapshot=false.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Tag("static-content")
+public @interface StaticContent {
+}
@@ -0,0 +1,235 @@
+package com.toolbelt.utils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Random;
+
+/**
+ * Deterministic test inputs of roughly a target size in characters, generated from a seed and
+ * cached through {@link InputCache}. The same (seed, size) always yields the same content, so a
+ * failing large-input test is reproduced by its seed alone. Generators stream their output and
+ * never hold a whole document in memory. Bump a generator's version suffix when its output changes.
+ */
+public class SyntheticInputs {
+    public static final byte[] JWT_SECRET = "toolbelt-synthetic-secret".getBytes(StandardCharsets.UTF_8);
+
+    private static final String[] WORDS = {
+        "toolbelt", "browser", "format", "encode", "decode", "pattern", "string", "value", "request", "response",
+        "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "alpha", "beta", "gamma", "delta", "lorem", "ipsum"
+    };
+    private static final String[] HOSTS = {"example.com", "toolbelt.site", "api.example.org", "cdn.example.net", "localhost:8080"};
+    private static final String PATH_CHARS = "abcdefghijklmnopqrstuvwxyz0123456789-_.~ !$&'()*+,;=:@%äöü日本";
+
+    public static String json(long seed, int size) {
+        return InputCache.get("json-v1", seed, size, SyntheticInputs::writeJson);
+    }
+
+    // The two sides of a diff: left is the base text, right applies seeded edits to the same lines
+    public static String diffLeft(long seed, int size) {
+        return InputCache.get("diff-left-v1", seed, size, (random, target, out) -> writeDiff(random, target, out, false));
+    }
+
+    public static String diffRight(long seed, int size) {
+        return InputCache.get("diff-right-v1", seed, size, (random, target, out) -> writeDiff(random, target, out, true));
+    }
+
+    // HS256-signed with JWT_SECRET; size is the approximate length of the payload claims
+    public static String jwt(long seed, int size) {
+        return InputCache.get("jwt-v1", seed, size, SyntheticInputs::writeJwt);
+    }
+
+    public static String urls(long seed, int size) {
+        return InputCache.get("urls-v1", seed, size, SyntheticInputs::writeUrls);
+    }
+
+    public static String unicodeText(long seed, int size) {
+        return InputCache.get("unicode-v2", seed, size, (random, target, out) -> {
+            TextSink sink = new TextSink(out);
+            while (sink.written < target) {
+                sink.append(FuzzInputs.text(random, 1, (int) Math.min(256, target - sink.written)));
+            }
+            sink.flush();
+        });
+    }
+
+    // Prose with emails, phone numbers and ISO dates sprinkled in for the regex tester
+    public static String regexHaystack(long seed, int size) {
+        return InputCache.get("regex-haystack-v1", seed, size, (random, target, out) -> {
+            TextSink sink = new TextSink(out);
+            while (sink.written < target) {
+                switch (random.nextInt(12)) {
+                    case 0 -> sink.append(word(random) + "." + word(random) + "@" + HOSTS[random.nextInt(HOSTS.length - 1)]);
+                    case 1 -> sink.append(String.format("%03d-%04d", random.nextInt(1000), random.nextInt(10000)));
+                    case 2 -> sink.append(String.format("%04d-%02d-%02d", 1990 + random.nextInt(40), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+                    default -> sink.append(word(random));
+                }
+                sink.append(random.nextInt(10) == 0 ? "\n" : " ");
+            }
+            sink.flush();
+        });
+    }
+
+    private static void writeJson(Random random, int size, OutputStream out) throws IOException {
+        TextSink sink = new TextSink(out);
+        sink.append("{\"data\":[");
+        for (int i = 0; sink.written < size - 2 || i == 0; i++) {
+            if (i > 0) {
+                sink.append(",");
+            }
+            sink.append("{\"id\":" + i)
+                .append(",\"name\":\"Item " + i + " " + word(random) + "\"")
+                .append(",\"value\":" + (random.nextInt(2_000_001) - 1_000_000))
+                .append(",\"active\":" + random.nextBoolean())
+                .append(",\"tags\":[\"" + word(random) + "\",\"" + word(random) + "\"]}");
+        }
+        sink.append("]}");
+        sink.flush();
+    }
+
+    // Both sides draw the base lines from the same seeded sequence; edits come from a second one, so
+    // each file can be generated on its own and still pair up with the other
+    private static void writeDiff(Random random, int size, OutputStream out, boolean edited) throws IOException {
+        Random edits = new Random(random.nextLong());
+        TextSink sink = new TextSink(out);
+        long base = 0;
+        while (base < size) {
+            String line = line(random);
+            base += line.length() + 1;
+            if (!edited) {
+                sink.append(line).append("\n");
+                continue;
+            }
+            int edit = edits.nextInt(100);
+            if (edit < 3) {
+                continue;
+            } else if (edit < 6) {
+                sink.append(line(edits)).append("\n").append(line).append("\n");
+            } else if (edit < 11) {
+                sink.append(line.replaceFirst("\\w+", word(edits))).append("\n");
+            } else {
+                sink.append(line).append("\n");
+            }
+        }
+        sink.flush();
+    }
+
+    private static void writeJwt(Random random, int size, OutputStream out) throws IOException {
+        Mac mac;
+        try {
+            mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(JWT_SECRET, "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        Base64.Encoder base64Url = Base64.getUrlEncoder().withoutPadding();
+        // Everything before the second dot is signed; closing the encoder must not close the file
+        OutputStream signed = new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                mac.update((byte) b);
+                out.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                mac.update(b, off, len);
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+
+        signed.write(base64Url.encode("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8)));
+        signed.write('.');
+        long issuedAt = 1_700_000_000L + random.nextInt(10_000_000);
+        try (TextSink payload = new TextSink(base64Url.wrap(signed))) {
+            payload.append("{\"sub\":\"" + random.nextInt(1_000_000) + "\"")
+                .append(",\"name\":\"" + word(random) + " " + word(random) + "\"")
+                .append(",\"iat\":" + issuedAt + ",\"exp\":" + (issuedAt + 3600))
+                .append(",\"data\":[");
+            for (int i = 0; payload.written < size - 2; i++) {
+                payload.append((i > 0 ? ",\"" : "\"") + word(random) + "\"");
+            }
+            payload.append("]}");
+        }
+        out.write('.');
+        out.write(base64Url.encode(mac.doFinal()));
+    }
+
+    private static void writeUrls(Random random, int size, OutputStream out) throws IOException {
+        TextSink sink = new TextSink(out);
+        while (sink.written < size) {
+            StringBuilder url = new StringBuilder(random.nextBoolean() ? "https://" : "http://")
+                .append(HOSTS[random.nextInt(HOSTS.length)]);
+            int segments = random.nextInt(4);
+            for (int i = 0; i < segments; i++) {
+                url.append('/');
+                int length = 1 + random.nextInt(10);
+                for (int j = 0; j < length; j++) {
+                    url.append(PATH_CHARS.charAt(random.nextInt(PATH_CHARS.length())));
+                }
+            }
+            int params = random.nextInt(4);
+            for (int i = 0; i < params; i++) {
+                url.append(i == 0 ? '?' : '&').append(word(random)).append('=').append(word(random));
+            }
+            if (random.nextInt(5) == 0) {
+                url.append('#').append(word(random));
+            }
+            sink.append(url.toString()).append("\n");
+        }
+        sink.flush();
+    }
+
+    private static String line(Random random) {
+        int words = 3 + random.nextInt(10);
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                line.append(' ');
+            }
+            line.append(word(random));
+        }
+        return line.toString();
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    // UTF-8 writer that counts the characters written; closing it closes the underlying stream
+    private static class TextSink implements AutoCloseable {
+        private final Writer writer;
+        private long written;
+
+        TextSink(OutputStream out) {
+            this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        }
+
+        TextSink append(String text) throws IOException {
+            writer.write(text);
+            written += text.length();
+            return this;
+        }
+
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
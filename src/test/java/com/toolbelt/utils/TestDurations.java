@@ -0,0 +1,90 @@
+package com.toolbelt.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-test duration history in milliseconds for one browser, keyed by "class#method" (with
+ * "[n]" for each invocation of a parameterized test). Each run folds its measurements into
+ * test-durations-&lt;browser&gt;.json (or -Dshard.history) as a moving average, and also writes
+ * them on their own to target/test-durations, so CI can fold the measurements of every shard
+ * into the shared history with {@link #main}.
+ */
+public class TestDurations {
+    private static final Path FILE = Paths.get(System.getProperty("shard.history", "test-durations-" + BrowserFactory.browserName() + ".json"));
+    private static final Path MEASURED_DIR = Paths.get("target", "test-durations");
+    private static final Type TYPE = new TypeToken<TreeMap<String, Double>>() { }.getType();
+    private static final double WEIGHT = 0.5;
+
+    public static Map<String, Double> load() {
+        return read(FILE);
+    }
+
+    public static synchronized void update(Map<String, Long> measured) {
+        if (measured.isEmpty()) {
+            return;
+        }
+        Map<String, Double> latest = new TreeMap<>();
+        measured.forEach((test, millis) -> latest.put(test, millis.doubleValue()));
+        String shard = System.getProperty("shard.index");
+        write(MEASURED_DIR.resolve(BrowserFactory.browserName() + (shard == null ? "" : "-shard-" + shard) + ".json"), latest);
+        fold(FILE, latest);
+    }
+
+    // Folds measurement files into a history file: TestDurations <history.json> <measured.json>...
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: TestDurations <history.json> <measured.json>...");
+        }
+        Map<String, Double> latest = new TreeMap<>();
+        for (int i = 1; i < args.length; i++) {
+            latest.putAll(read(Paths.get(args[i])));
+        }
+        fold(Paths.get(args[0]), latest);
+        System.out.println("Folded " + latest.size() + " test durations into " + args[0]);
+    }
+
+    private static void fold(Path file, Map<String, Double> latest) {
+        Map<String, Double> durations = read(file);
+        latest.forEach((test, millis) ->
+            durations.merge(test, millis, (previous, current) -> previous * (1 - WEIGHT) + current * WEIGHT));
+        write(file, durations);
+    }
+
+    private static Map<String, Double> read(Path file) {
+        if (!Files.exists(file)) {
+            return new TreeMap<>();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Map<String, Double> durations = new Gson().fromJson(reader, TYPE);
+            return durations == null ? new TreeMap<>() : durations;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read test duration history " + file, e);
+        }
+    }
+
+    private static void write(Path file, Map<String, Double> durations) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                new GsonBuilder().setPrettyPrinting().create().toJson(durations, TYPE, writer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write test duration history " + file, e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.toolbelt.utils;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith({BrowserExtension.class, ReportingExtension.class, ShardExtension.class, ReadOnlyExtension.class})
+public @interface ToolbeltTest {
+}
@@ -0,0 +1,15 @@
+package com.toolbelt.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test (or every test of a class) that depends on how its route looks, so its page loads
+ * fonts, images and third-party content that {@link ResourceBlocking} drops for functional tests.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Visual {
+}